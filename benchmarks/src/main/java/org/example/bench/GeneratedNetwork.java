@@ -0,0 +1,82 @@
+package org.example.bench;
+
+import org.example.FlowAlgorithm;
+import org.example.FordFulkerson;
+
+import java.util.Arrays;
+
+/**
+ * Rețea generată, păstrată ca tablouri primitive pentru a putea construi
+ * oricâte instanțe FordFulkerson identice.
+ */
+public final class GeneratedNetwork {
+    final int vertices;
+    final int arcs;
+    final int[] from;
+    final int[] to;
+    final int[] capacity;
+    final int source;
+    final int sink;
+
+    GeneratedNetwork(int vertices, int arcs, int[] from, int[] to, int[] capacity, int source, int sink) {
+        this.vertices = vertices;
+        this.arcs = arcs;
+        this.from = from;
+        this.to = to;
+        this.capacity = capacity;
+        this.source = source;
+        this.sink = sink;
+    }
+
+    public FordFulkerson build(FlowAlgorithm algorithm) {
+        FordFulkerson ff = new FordFulkerson(vertices, algorithm);
+        for (int i = 0; i < arcs; i++) {
+            ff.addEdge(from[i], to[i], capacity[i], 0);
+        }
+        return ff;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getSink() {
+        return sink;
+    }
+
+    /**
+     * Acumulează arcele în timpul generării.
+     */
+    static final class Builder {
+        private final int vertices;
+        private int arcs;
+        private int[] from;
+        private int[] to;
+        private int[] capacity;
+
+        Builder(int vertices, int expectedArcs) {
+            this.vertices = vertices;
+            int size = Math.max(16, expectedArcs);
+            from = new int[size];
+            to = new int[size];
+            capacity = new int[size];
+        }
+
+        void add(int u, int v, int cap) {
+            if (arcs == from.length) {
+                int size = arcs * 2;
+                from = Arrays.copyOf(from, size);
+                to = Arrays.copyOf(to, size);
+                capacity = Arrays.copyOf(capacity, size);
+            }
+            from[arcs] = u;
+            to[arcs] = v;
+            capacity[arcs] = cap;
+            arcs++;
+        }
+
+        GeneratedNetwork build(int source, int sink) {
+            return new GeneratedNetwork(vertices, arcs, from, to, capacity, source, sink);
+        }
+    }
+}
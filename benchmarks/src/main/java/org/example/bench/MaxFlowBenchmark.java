@@ -0,0 +1,90 @@
+package org.example.bench;
+
+import org.example.FlowAlgorithm;
+import org.example.FordFulkerson;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Măsoară getMaxFlow, getMinCut și getFlows pe familiile de rețele generate,
+ * pentru fiecare algoritm. Throughput și latența (SampleTime) sunt raportate
+ * împreună; BenchmarkMain adaugă profilerul GC pentru rata de alocare.
+ *
+ * Implicit se rulează doar rețele mici; mărimile mari se dau explicit, de
+ * obicei pentru o familie și câțiva algoritmi (Edmonds-Karp este lent la 10⁶+):
+ * java -jar target/benchmarks.jar -p family=GRID -p arcs=1000000,10000000 -p algorithm=DINIC,PUSH_RELABEL
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MaxFlowBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Network {
+        @Param({"RANDOM_SPARSE", "LAYERED", "GRID", "BIPARTITE", "RMFGEN"})
+        NetworkFamily family;
+
+        @Param({"1000", "10000"})
+        int arcs;
+
+        @Param({"EDMONDS_KARP", "BIDIRECTIONAL_BFS", "DINIC", "PUSH_RELABEL", "PARALLEL_PUSH_RELABEL", "BOYKOV_KOLMOGOROV"})
+        FlowAlgorithm algorithm;
+
+        @Param("42")
+        long seed;
+
+        GeneratedNetwork network;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            network = family.generate(arcs, seed);
+        }
+    }
+
+    // getMaxFlow modifică fluxurile, deci fiecare apel primește o rețea nouă
+    @State(Scope.Thread)
+    public static class Fresh {
+        FordFulkerson solver;
+
+        @Setup(Level.Invocation)
+        public void build(Network n) {
+            solver = n.network.build(n.algorithm);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Solved {
+        FordFulkerson solver;
+
+        @Setup(Level.Trial)
+        public void solve(Network n) {
+            solver = n.network.build(n.algorithm);
+            solver.getMaxFlow(n.network.getSource(), n.network.getSink());
+        }
+    }
+
+    @Benchmark
+    public long maxFlow(Network n, Fresh fresh) {
+        return fresh.solver.getMaxFlow(n.network.getSource(), n.network.getSink());
+    }
+
+    // Rezultatul compact este creat o dată și păstrat, deci se măsoară parcurgerea
+    // vederilor, adică ce plătește codul care lucrează încă cu Set<Edge> / Map<Edge, Integer>
+    @Benchmark
+    public void minCut(Network n, Solved solved, Blackhole bh) {
+        for (Object edge : solved.solver.getMinCut(n.network.getSource())) {
+            bh.consume(edge);
+        }
+    }
+
+    @Benchmark
+    public void flows(Solved solved, Blackhole bh) {
+        for (Object entry : solved.solver.getFlows().entrySet()) {
+            bh.consume(entry);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.bench;
+
+import java.util.SplittableRandom;
+
+/**
+ * Familii standard de rețele de test pentru flux maxim. Fiecare generator
+ * este determinist pentru aceeași sămânță și produce aproximativ numărul
+ * cerut de arce.
+ */
+public enum NetworkFamily {
+    /** Arce aleatoare între n = m / 4 noduri, capacități 1..10^4. */
+    RANDOM_SPARSE {
+        @Override
+        GeneratedNetwork generate(int arcs, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int n = Math.max(2, arcs / 4);
+            GeneratedNetwork.Builder b = new GeneratedNetwork.Builder(n, arcs);
+            for (int i = 0; i < arcs; i++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n - 1);
+                if (v >= u) {
+                    v++;
+                }
+                b.add(u, v, 1 + random.nextInt(10_000));
+            }
+            return b.build(0, n - 1);
+        }
+    },
+
+    /** Straturi de lățime W; fiecare nod are 4 arce spre stratul următor. */
+    LAYERED {
+        @Override
+        GeneratedNetwork generate(int arcs, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int width = Math.max(4, (int) Math.sqrt(arcs) / 2);
+            int layers = Math.max(2, (arcs - 2 * width) / (4 * width) + 1);
+            int n = layers * width + 2;
+            int source = n - 2, sink = n - 1;
+
+            GeneratedNetwork.Builder b = new GeneratedNetwork.Builder(n, arcs);
+            for (int i = 0; i < width; i++) {
+                b.add(source, i, 100_000);
+                b.add((layers - 1) * width + i, sink, 100_000);
+            }
+            for (int l = 0; l + 1 < layers; l++) {
+                for (int i = 0; i < width; i++) {
+                    for (int k = 0; k < 4; k++) {
+                        b.add(l * width + i, (l + 1) * width + random.nextInt(width), 1 + random.nextInt(10_000));
+                    }
+                }
+            }
+            return b.build(source, sink);
+        }
+    },
+
+    /** Grilă 2D cu 4 vecini și arce terminale spre fiecare pixel (segmentare de imagini). */
+    GRID {
+        @Override
+        GeneratedNetwork generate(int arcs, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int side = Math.max(2, (int) Math.sqrt(arcs / 6.0));
+            int pixels = side * side;
+            int source = pixels, sink = pixels + 1;
+
+            GeneratedNetwork.Builder b = new GeneratedNetwork.Builder(pixels + 2, arcs);
+            for (int y = 0; y < side; y++) {
+                for (int x = 0; x < side; x++) {
+                    int p = y * side + x;
+                    int toSource = random.nextInt(100);
+                    int toSink = random.nextInt(100);
+                    if (toSource > 0) {
+                        b.add(source, p, toSource);
+                    }
+                    if (toSink > 0) {
+                        b.add(p, sink, toSink);
+                    }
+                    if (x + 1 < side) {
+                        b.add(p, p + 1, 1 + random.nextInt(50));
+                        b.add(p + 1, p, 1 + random.nextInt(50));
+                    }
+                    if (y + 1 < side) {
+                        b.add(p, p + side, 1 + random.nextInt(50));
+                        b.add(p + side, p, 1 + random.nextInt(50));
+                    }
+                }
+            }
+            return b.build(source, sink);
+        }
+    },
+
+    /** Cuplaj bipartit cu capacități unitare, grad 5 în partea stângă. */
+    BIPARTITE {
+        @Override
+        GeneratedNetwork generate(int arcs, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int half = Math.max(1, arcs / 7);
+            int n = 2 * half + 2;
+            int source = n - 2, sink = n - 1;
+
+            GeneratedNetwork.Builder b = new GeneratedNetwork.Builder(n, arcs);
+            for (int i = 0; i < half; i++) {
+                b.add(source, i, 1);
+                b.add(half + i, sink, 1);
+                for (int k = 0; k < 5; k++) {
+                    b.add(i, half + random.nextInt(half), 1);
+                }
+            }
+            return b.build(source, sink);
+        }
+    },
+
+    /**
+     * RMFGEN (Goldfarb-Grigoriadis): b cadre de a×a noduri, legate intern cu
+     * capacități mari și între ele prin permutări aleatoare cu capacități mici.
+     * Produce aceleași drumuri lungi ca instanțele grele de tip Washington.
+     */
+    RMFGEN {
+        @Override
+        GeneratedNetwork generate(int arcs, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int a = Math.max(2, (int) Math.cbrt(arcs / 10.0));
+            int frames = 2 * a;
+            int frameSize = a * a;
+            int n = frames * frameSize;
+            int inFrame = 1000 * frameSize;
+
+            GeneratedNetwork.Builder b = new GeneratedNetwork.Builder(n, arcs);
+            int[] permutation = new int[frameSize];
+            for (int f = 0; f < frames; f++) {
+                int base = f * frameSize;
+                for (int y = 0; y < a; y++) {
+                    for (int x = 0; x < a; x++) {
+                        int p = base + y * a + x;
+                        if (x + 1 < a) {
+                            b.add(p, p + 1, inFrame);
+                            b.add(p + 1, p, inFrame);
+                        }
+                        if (y + 1 < a) {
+                            b.add(p, p + a, inFrame);
+                            b.add(p + a, p, inFrame);
+                        }
+                    }
+                }
+
+                if (f + 1 < frames) {
+                    for (int i = 0; i < frameSize; i++) {
+                        permutation[i] = i;
+                    }
+                    for (int i = frameSize - 1; i > 0; i--) {
+                        int j = random.nextInt(i + 1);
+                        int tmp = permutation[i];
+                        permutation[i] = permutation[j];
+                        permutation[j] = tmp;
+                    }
+                    for (int i = 0; i < frameSize; i++) {
+                        b.add(base + i, base + frameSize + permutation[i], 1 + random.nextInt(1000));
+                    }
+                }
+            }
+            return b.build(0, n - 1);
+        }
+    };
+
+    abstract GeneratedNetwork generate(int arcs, long seed);
+}
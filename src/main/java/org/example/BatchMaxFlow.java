@@ -0,0 +1,232 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fluxul maxim pentru multe perechi (sursă, destinație) pe aceeași rețea.
+ *
+ * Topologia, capacitățile și costurile sunt păstrate o singură dată, într-un
+ * graf rezidual care nu mai este modificat. Interogările sunt împărțite pe un
+ * ForkJoinPool; fiecare fir lucrează pe un Worker cu propriul tablou de
+ * fluxuri și propriul algoritm, refolosit de la o interogare la alta și între
+ * apeluri. Memoria este deci O(topologie + fire × E), nu O(interogări × graf).
+ *
+ * Fiecare interogare pornește de la fluxul zero; fluxurile inițiale ale
+ * muchiilor din FordFulkerson sunt ignorate. Obiectul poate fi folosit din
+ * mai multe fire simultan.
+ */
+public final class BatchMaxFlow {
+    private final ResidualGraph topology;
+    private final FlowAlgorithm algorithm;
+    private final boolean scaling;
+    private final int threads;
+
+    // Worker-ii liberi; un fir ia unul la începutul interogării și îl pune înapoi la sfârșit
+    private final ConcurrentLinkedDeque<Worker> idle = new ConcurrentLinkedDeque<>();
+
+    BatchMaxFlow(ResidualGraph topology, FlowAlgorithm algorithm, int threads, boolean scaling) {
+        this.topology = topology;
+        // Paralelismul vine din interogări, deci fiecare fir folosește varianta secvențială
+        this.algorithm = algorithm == FlowAlgorithm.PARALLEL_PUSH_RELABEL ? FlowAlgorithm.PUSH_RELABEL : algorithm;
+        this.threads = threads;
+        this.scaling = scaling;
+    }
+
+    public int getVertexCount() {
+        return topology.vertices;
+    }
+
+    public int getEdgeCount() {
+        return topology.edgeCount;
+    }
+
+    public int getEdgeFrom(int edge) {
+        return topology.tail(topology.edgeArc[edge]);
+    }
+
+    public int getEdgeTo(int edge) {
+        return topology.head[topology.edgeArc[edge]];
+    }
+
+    public int getEdgeCapacity(int edge) {
+        return topology.capacity[topology.edgeArc[edge]];
+    }
+
+    public FlowAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    // Fluxul maxim al fiecărei perechi (sources[i], sinks[i])
+    public long[] maxFlows(int[] sources, int[] sinks) {
+        long[] values = new long[checkQueries(sources, sinks)];
+        run(sources, sinks, values, null);
+        return values;
+    }
+
+    // Fluxul maxim și tăietura minimă a fiecărei perechi (sources[i], sinks[i])
+    public Cut[] minCuts(int[] sources, int[] sinks) {
+        int count = checkQueries(sources, sinks);
+        Cut[] cuts = new Cut[count];
+        run(sources, sinks, new long[count], cuts);
+        return cuts;
+    }
+
+    private int checkQueries(int[] sources, int[] sinks) {
+        if (sources.length != sinks.length) {
+            throw new IllegalArgumentException("Număr diferit de surse și destinații: "
+                    + sources.length + " și " + sinks.length);
+        }
+        for (int i = 0; i < sources.length; i++) {
+            int s = sources[i], t = sinks[i];
+            if (s < 0 || s >= topology.vertices || t < 0 || t >= topology.vertices) {
+                throw new IndexOutOfBoundsException("Pereche invalidă: " + s + " -> " + t);
+            }
+            if (s == t) {
+                throw new IllegalArgumentException("Sursa și destinația coincid: " + s);
+            }
+        }
+        return sources.length;
+    }
+
+    private void run(int[] sources, int[] sinks, long[] values, Cut[] cuts) {
+        if (sources.length == 0) {
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.min(threads, sources.length));
+        try {
+            pool.invoke(new Queries(sources, sinks, values, cuts, 0, sources.length));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Împarte intervalul de interogări în două până la o singură interogare
+    private final class Queries extends RecursiveAction {
+        private final int[] sources, sinks;
+        private final long[] values;
+        private final Cut[] cuts;
+        private final int from, to;
+
+        Queries(int[] sources, int[] sinks, long[] values, Cut[] cuts, int from, int to) {
+            this.sources = sources;
+            this.sinks = sinks;
+            this.values = values;
+            this.cuts = cuts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Queries(sources, sinks, values, cuts, from, mid),
+                        new Queries(sources, sinks, values, cuts, mid, to));
+                return;
+            }
+
+            Worker worker = idle.pollFirst();
+            if (worker == null) {
+                worker = new Worker();
+            }
+            try {
+                int s = sources[from], t = sinks[from];
+                values[from] = worker.solve(s, t);
+                if (cuts != null) {
+                    cuts[from] = worker.cut(s, t, values[from]);
+                }
+            } finally {
+                idle.addFirst(worker);
+            }
+        }
+    }
+
+    // Starea unui fir: fluxurile proprii peste topologia comună și algoritmul
+    private final class Worker {
+        private final ResidualGraph graph = new ResidualGraph(topology);
+        private final MaxFlowEngine engine = algorithm.createEngine(topology.vertices, 1, scaling);
+        private final FlowMonitor monitor = new FlowMonitor();
+        private final int[] queue = new int[topology.vertices];
+
+        long solve(int source, int sink) {
+            Arrays.fill(graph.flow, 0);
+            monitor.begin(graph, 0, null);
+            try {
+                return engine.maxFlow(graph, source, sink, monitor);
+            } finally {
+                monitor.end();
+            }
+        }
+
+        Cut cut(int source, int sink, long value) {
+            BitSet side = graph.reachable(source, queue);
+            int count = 0;
+            int[] edges = new int[16];
+            for (int e = 0; e < graph.edgeCount; e++) {
+                int arc = graph.edgeArc[e];
+                if (side.get(graph.tail(arc)) && !side.get(graph.head[arc]) && graph.capacity[arc] > 0) {
+                    if (count == edges.length) {
+                        edges = Arrays.copyOf(edges, count * 2);
+                    }
+                    edges[count++] = e;
+                }
+            }
+            return new Cut(source, sink, value, side, Arrays.copyOf(edges, count), topology);
+        }
+    }
+
+    /** Rezultatul unei interogări: valoarea fluxului maxim și tăietura minimă. */
+    public static final class Cut {
+        private final int source, sink;
+        private final long maxFlow;
+        private final BitSet sourceSide;
+        private final int[] cutEdges;
+        private final long cutCapacity;
+
+        private Cut(int source, int sink, long maxFlow, BitSet sourceSide, int[] cutEdges, ResidualGraph g) {
+            this.source = source;
+            this.sink = sink;
+            this.maxFlow = maxFlow;
+            this.sourceSide = sourceSide;
+            this.cutEdges = cutEdges;
+            long total = 0;
+            for (int e : cutEdges) {
+                total += g.capacity[g.edgeArc[e]];
+            }
+            this.cutCapacity = total;
+        }
+
+        public int getSource() { return source; }
+        public int getSink() { return sink; }
+        public long getMaxFlow() { return maxFlow; }
+        public long getCutCapacity() { return cutCapacity; }
+
+        public boolean isSourceSide(int vertex) {
+            return sourceSide.get(vertex);
+        }
+
+        public BitSet getSourceSide() {
+            return (BitSet) sourceSide.clone();
+        }
+
+        public int getCutEdgeCount() {
+            return cutEdges.length;
+        }
+
+        public int getCutEdge(int i) {
+            return cutEdges[i];
+        }
+
+        public int[] getCutEdges() {
+            return cutEdges.clone();
+        }
+    }
+}
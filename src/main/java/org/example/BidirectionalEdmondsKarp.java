@@ -0,0 +1,250 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Edmonds-Karp cu BFS bidirecțional și mai multe drumuri pe căutare.
+ *
+ * Căutarea crește nivel cu nivel din sursă (pe arcele reziduale) și din
+ * destinație (pe arcele reziduale inversate), extinzând de fiecare dată partea
+ * cu mai puține arce de examinat, până când cele două se întâlnesc. Lungimea L
+ * a celui mai scurt drum este minimul peste arcele de întâlnire ale nivelului.
+ *
+ * Fiecare nod etichetat primește un rang: distanța de la sursă, respectiv
+ * L minus distanța până la destinație. Un arc rezidual care crește rangul cu 1
+ * se află pe un drum minim, deci pe aceste arce se caută, ca la Dinic, un flux
+ * blocant: mai multe drumuri minime disjuncte pe arce dintr-o singură căutare.
+ * Etichetele, fundăturile și arcul curent sunt marcate cu generația căutării,
+ * deci nimic de mărime V nu este reinițializat între runde.
+ */
+class BidirectionalEdmondsKarp implements MaxFlowEngine {
+    private final int[] forward, forwardMark;
+    private final int[] backward, backwardMark;
+    private final int[] forwardQueue, backwardQueue;
+    private final int[] currentArc, arcMark;
+    private final int[] deadMark;
+    private final int[] path;
+    private int generation;
+
+    // Lungimea drumurilor minime găsite de ultima căutare
+    private int length;
+
+    private final boolean scaling;
+    private int delta = 1;
+
+    BidirectionalEdmondsKarp(int vertices, boolean scaling) {
+        this.scaling = scaling;
+        forward = new int[vertices];
+        forwardMark = new int[vertices];
+        backward = new int[vertices];
+        backwardMark = new int[vertices];
+        forwardQueue = new int[vertices];
+        backwardQueue = new int[vertices];
+        currentArc = new int[vertices];
+        arcMark = new int[vertices];
+        deadMark = new int[vertices];
+        path = new int[vertices];
+    }
+
+    @Override
+    public long maxFlow(ResidualGraph g, int source, int sink, FlowMonitor monitor) {
+        if (!scaling) {
+            return rounds(g, source, sink, 0, monitor);
+        }
+
+        long total = 0;
+        SolverStats stats = monitor.stats();
+        try {
+            for (delta = g.scalingStart(); delta >= 1; delta >>= 1) {
+                if (stats != null) {
+                    stats.scalingPhases++;
+                }
+                total = rounds(g, source, sink, total, monitor);
+            }
+        } finally {
+            delta = 1;
+        }
+        return total;
+    }
+
+    // Căutare + flux blocant, cât timp există drum cu pragul curent
+    private long rounds(ResidualGraph g, int source, int sink, long total, FlowMonitor monitor) {
+        SolverStats stats = monitor.stats();
+        while (true) {
+            boolean found = search(g, source, sink, stats);
+            if (found) {
+                total = blockingFlow(g, source, sink, total, monitor, stats);
+            }
+            if (stats != null) {
+                stats.searches++;
+            }
+            if (!found) {
+                return total;
+            }
+        }
+    }
+
+    private int nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(forwardMark, 0);
+            Arrays.fill(backwardMark, 0);
+            Arrays.fill(arcMark, 0);
+            Arrays.fill(deadMark, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    // BFS bidirecțional pe niveluri; setează length și întoarce false dacă destinația nu este accesibilă
+    private boolean search(ResidualGraph g, int source, int sink, SolverStats stats) {
+        int mark = nextGeneration();
+        int fHead = 0, fTail = 0, bHead = 0, bTail = 0;
+        long scanned = 0;
+
+        forward[source] = 0;
+        forwardMark[source] = mark;
+        forwardQueue[fTail++] = source;
+        backward[sink] = 0;
+        backwardMark[sink] = mark;
+        backwardQueue[bTail++] = sink;
+        long fArcs = g.start[source + 1] - g.start[source];
+        long bArcs = g.start[sink + 1] - g.start[sink];
+
+        int best = Integer.MAX_VALUE;
+        while (best == Integer.MAX_VALUE) {
+            if (fHead == fTail || bHead == bTail) {
+                break;
+            }
+
+            long next = 0;
+            if (fArcs <= bArcs) {
+                // Un nivel din sursă: arcele u -> v cu capacitate reziduală
+                for (int levelEnd = fTail; fHead < levelEnd; ) {
+                    int u = forwardQueue[fHead++];
+                    int d = forward[u] + 1;
+                    scanned += g.start[u + 1] - g.start[u];
+                    for (int a = g.start[u], end = g.start[u + 1]; a < end; a++) {
+                        if (g.capacity[a] - g.flow[a] < delta) continue;
+                        int v = g.head[a];
+                        if (backwardMark[v] == mark) {
+                            best = Math.min(best, d + backward[v]);
+                        } else if (forwardMark[v] != mark) {
+                            forwardMark[v] = mark;
+                            forward[v] = d;
+                            forwardQueue[fTail++] = v;
+                            next += g.start[v + 1] - g.start[v];
+                        }
+                    }
+                }
+                fArcs = next;
+            } else {
+                // Un nivel din destinație: arcul invers lui b este u -> v
+                for (int levelEnd = bTail; bHead < levelEnd; ) {
+                    int v = backwardQueue[bHead++];
+                    int d = backward[v] + 1;
+                    scanned += g.start[v + 1] - g.start[v];
+                    for (int b = g.start[v], end = g.start[v + 1]; b < end; b++) {
+                        int a = g.reverse[b];
+                        if (g.capacity[a] - g.flow[a] < delta) continue;
+                        int u = g.head[b];
+                        if (forwardMark[u] == mark) {
+                            best = Math.min(best, forward[u] + d);
+                        } else if (backwardMark[u] != mark) {
+                            backwardMark[u] = mark;
+                            backward[u] = d;
+                            backwardQueue[bTail++] = u;
+                            next += g.start[u + 1] - g.start[u];
+                        }
+                    }
+                }
+                bArcs = next;
+            }
+        }
+
+        if (stats != null) {
+            stats.arcsScanned += scanned;
+        }
+        length = best;
+        return best != Integer.MAX_VALUE;
+    }
+
+    // Rangul nodului pe un drum minim, sau -1 dacă nu a fost etichetat de căutare
+    private int rank(int v, int mark) {
+        if (forwardMark[v] == mark) return forward[v];
+        if (backwardMark[v] == mark) return length - backward[v];
+        return -1;
+    }
+
+    // Flux blocant pe arcele care cresc rangul cu 1 (DFS iterativ, ca la Dinic)
+    private long blockingFlow(ResidualGraph g, int source, int sink, long total,
+                              FlowMonitor monitor, SolverStats stats) {
+        int mark = generation;
+        int depth = 0;
+        int u = source;
+        long scanned = 0;
+        arcMark[source] = mark;
+        currentArc[source] = g.start[source];
+
+        while (true) {
+            if (u == sink) {
+                int pathFlow = Integer.MAX_VALUE;
+                int bottleneck = 0;
+                for (int i = 0; i < depth; i++) {
+                    int r = g.residual(path[i]);
+                    if (r < pathFlow) {
+                        pathFlow = r;
+                        bottleneck = i;
+                    }
+                }
+
+                for (int i = 0; i < depth; i++) {
+                    g.push(path[i], pathFlow);
+                }
+                total += pathFlow;
+                if (stats != null) {
+                    stats.augmentingPaths++;
+                    stats.recordPath(depth);
+                }
+                monitor.step(total);
+
+                depth = bottleneck;
+                u = g.tail(path[bottleneck]);
+                continue;
+            }
+
+            int next = rank(u, mark) + 1;
+            int a = currentArc[u];
+            int end = g.start[u + 1];
+            int first = a;
+            for (; a < end; a++) {
+                if (g.capacity[a] - g.flow[a] < delta) continue;
+                int v = g.head[a];
+                if (deadMark[v] != mark && rank(v, mark) == next) break;
+            }
+            scanned += a - first + 1;
+            currentArc[u] = a;
+
+            if (a < end) {
+                path[depth++] = a;
+                u = g.head[a];
+                if (arcMark[u] != mark) {
+                    arcMark[u] = mark;
+                    currentArc[u] = g.start[u];
+                }
+            } else {
+                // Fundătură: nodul nu mai poate contribui în această rundă
+                if (u == source) {
+                    break;
+                }
+                deadMark[u] = mark;
+                u = g.tail(path[--depth]);
+                currentArc[u]++;
+            }
+        }
+
+        if (stats != null) {
+            stats.arcsScanned += scanned;
+        }
+        return total;
+    }
+}
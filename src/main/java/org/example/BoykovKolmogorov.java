@@ -0,0 +1,347 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Algoritmul Boykov-Kolmogorov: doi arbori de căutare, unul crescut din sursă
+ * pe arcele reziduale și unul din destinație pe arcele reziduale inversate,
+ * păstrați de la o augmentare la alta.
+ *
+ * - Creștere: nodurile active își extind arborele spre nodurile libere până
+ *   când un arc rezidual leagă cei doi arbori.
+ * - Augmentare: fluxul trece pe drumul sursă -> arc de legătură -> destinație;
+ *   nodurile al căror arc spre părinte s-a saturat devin orfane.
+ * - Adopție: fiecare orfan caută în același arbore un părinte nou legat de
+ *   rădăcină (cel mai apropiat, după distanțele marcate cu timpul augmentării);
+ *   dacă nu găsește, devine liber, iar vecinii lui sunt reactivați.
+ *
+ * Graful este descris prin metodele abstracte (arcele nodului, capătul, arcul
+ * pereche, capacitatea reziduală), deci același cod lucrează pe graful CSR
+ * (Residual) și pe grila implicită din GridGraph.
+ */
+abstract class BoykovKolmogorov {
+    private static final byte FREE = 0, SOURCE = 1, SINK = 2;
+
+    // Arcul spre părinte al rădăcinilor și al orfanilor
+    private static final int ROOT = -2, ORPHAN = -1;
+
+    private final byte[] tree;
+    // Arcul de la nod spre părintele lui din arbore
+    private final int[] parent;
+    private final int[] stamp, dist;
+    private int time;
+
+    // Coada circulară a nodurilor active; fiecare nod apare cel mult o dată
+    private final int[] active;
+    private final boolean[] isActive;
+    private int activeHead, activeSize;
+
+    private final int[] orphans;
+    private int orphanHead, orphanSize;
+
+    BoykovKolmogorov(int nodes) {
+        tree = new byte[nodes];
+        parent = new int[nodes];
+        stamp = new int[nodes];
+        dist = new int[nodes];
+        active = new int[nodes];
+        isActive = new boolean[nodes];
+        orphans = new int[nodes];
+    }
+
+    abstract int arcStart(int v);
+
+    abstract int arcEnd(int v);
+
+    abstract int head(int arc);
+
+    abstract int sister(int arc);
+
+    abstract int residual(int arc);
+
+    abstract void push(int arc, int amount);
+
+    // Nodurile din arborele sursei după ultimul calcul: partea sursei a tăieturii minime
+    boolean inSourceTree(int v) {
+        return tree[v] == SOURCE;
+    }
+
+    long solve(int source, int sink, long total, FlowMonitor monitor) {
+        SolverStats stats = monitor.stats();
+        Arrays.fill(tree, FREE);
+        Arrays.fill(stamp, 0);
+        Arrays.fill(isActive, false);
+        activeHead = activeSize = 0;
+        orphanHead = orphanSize = 0;
+        time = 0;
+        long scanned = 0;
+
+        tree[source] = SOURCE;
+        parent[source] = ROOT;
+        dist[source] = 0;
+        activate(source);
+        tree[sink] = SINK;
+        parent[sink] = ROOT;
+        dist[sink] = 0;
+        activate(sink);
+
+        long growths = 0;
+        while (activeSize > 0) {
+            int v = active[activeHead];
+            if (tree[v] == FREE) {
+                deactivateFront();
+                continue;
+            }
+
+            int bridge = grow(v);
+            growths++;
+            if (stats != null) {
+                scanned += arcEnd(v) - arcStart(v);
+            }
+            if (bridge < 0) {
+                deactivateFront();
+                continue;
+            }
+
+            // Nodul rămâne în fața cozii: după augmentare mai poate găsi drumuri
+            time++;
+            int length = 0;
+            int f = residual(bridge);
+            for (int u = tail(bridge); parent[u] != ROOT; u = head(parent[u])) {
+                f = Math.min(f, residual(sister(parent[u])));
+                length++;
+            }
+            for (int u = head(bridge); parent[u] != ROOT; u = head(parent[u])) {
+                f = Math.min(f, residual(parent[u]));
+                length++;
+            }
+
+            push(bridge, f);
+            for (int u = tail(bridge); parent[u] != ROOT; ) {
+                int a = sister(parent[u]);
+                int next = head(parent[u]);
+                push(a, f);
+                if (residual(a) == 0) {
+                    orphan(u);
+                }
+                u = next;
+            }
+            for (int u = head(bridge); parent[u] != ROOT; ) {
+                int a = parent[u];
+                int next = head(a);
+                push(a, f);
+                if (residual(a) == 0) {
+                    orphan(u);
+                }
+                u = next;
+            }
+            total += f;
+            if (stats != null) {
+                stats.augmentingPaths++;
+                stats.recordPath(length + 1);
+            }
+
+            scanned += adopt();
+            monitor.step(total);
+        }
+
+        if (stats != null) {
+            stats.searches += growths;
+            stats.arcsScanned += scanned;
+        }
+        return total;
+    }
+
+    private int tail(int arc) {
+        return head(sister(arc));
+    }
+
+    // Extinde arborele lui v; întoarce arcul sursă -> destinație care leagă arborii, sau -1
+    private int grow(int v) {
+        int end = arcEnd(v);
+        if (tree[v] == SOURCE) {
+            for (int a = arcStart(v); a < end; a++) {
+                if (residual(a) == 0) continue;
+                int u = head(a);
+                if (tree[u] == FREE) {
+                    tree[u] = SOURCE;
+                    attach(u, sister(a), v);
+                    activate(u);
+                } else if (tree[u] == SINK) {
+                    return a;
+                } else if (stamp[u] <= stamp[v] && dist[u] > dist[v]) {
+                    // Părinte mai apropiat de rădăcină
+                    attach(u, sister(a), v);
+                }
+            }
+        } else {
+            for (int a = arcStart(v); a < end; a++) {
+                int b = sister(a);
+                if (residual(b) == 0) continue;
+                int u = head(a);
+                if (tree[u] == FREE) {
+                    tree[u] = SINK;
+                    attach(u, b, v);
+                    activate(u);
+                } else if (tree[u] == SOURCE) {
+                    return b;
+                } else if (stamp[u] <= stamp[v] && dist[u] > dist[v]) {
+                    attach(u, b, v);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void attach(int u, int arc, int v) {
+        parent[u] = arc;
+        stamp[u] = stamp[v];
+        dist[u] = dist[v] + 1;
+    }
+
+    private void activate(int v) {
+        if (!isActive[v]) {
+            isActive[v] = true;
+            int i = activeHead + activeSize++;
+            active[i >= active.length ? i - active.length : i] = v;
+        }
+    }
+
+    private void deactivateFront() {
+        isActive[active[activeHead]] = false;
+        if (++activeHead == active.length) activeHead = 0;
+        activeSize--;
+    }
+
+    private void orphan(int v) {
+        parent[v] = ORPHAN;
+        int i = orphanHead + orphanSize++;
+        orphans[i >= orphans.length ? i - orphans.length : i] = v;
+    }
+
+    // Întoarce numărul de arce examinate, pentru statistici
+    private long adopt() {
+        long scanned = 0;
+        while (orphanSize > 0) {
+            int v = orphans[orphanHead];
+            if (++orphanHead == orphans.length) orphanHead = 0;
+            orphanSize--;
+
+            byte side = tree[v];
+            int best = -1;
+            int bestDist = Integer.MAX_VALUE;
+            int end = arcEnd(v);
+            scanned += end - arcStart(v);
+            for (int a = arcStart(v); a < end; a++) {
+                // Părintele u trebuie să poată trimite flux spre v (sau v spre u, în arborele destinației)
+                if (residual(side == SOURCE ? sister(a) : a) == 0) continue;
+                int u = head(a);
+                if (tree[u] != side) continue;
+
+                int d = rootDistance(u);
+                if (d == Integer.MAX_VALUE) continue;
+                if (d < bestDist) {
+                    best = a;
+                    bestDist = d;
+                }
+                // Marcăm distanțele pe drum, pentru verificările următoare
+                for (int w = u; stamp[w] != time; w = head(parent[w])) {
+                    stamp[w] = time;
+                    dist[w] = d--;
+                }
+            }
+
+            if (best >= 0) {
+                parent[v] = best;
+                stamp[v] = time;
+                dist[v] = bestDist + 1;
+                continue;
+            }
+
+            // Niciun părinte: v devine liber, vecinii din arbore sunt reactivați sau devin orfani
+            for (int a = arcStart(v); a < end; a++) {
+                int u = head(a);
+                if (tree[u] != side) continue;
+                if (residual(side == SOURCE ? sister(a) : a) > 0) {
+                    activate(u);
+                }
+                int p = parent[u];
+                if (p >= 0 && head(p) == v) {
+                    orphan(u);
+                }
+            }
+            tree[v] = FREE;
+        }
+        return scanned;
+    }
+
+    // Distanța de la u la rădăcina arborelui, sau MAX_VALUE dacă drumul trece printr-un orfan
+    private int rootDistance(int u) {
+        int d = 0;
+        for (int w = u; ; ) {
+            if (stamp[w] == time) {
+                return d + dist[w];
+            }
+            int p = parent[w];
+            if (p == ROOT) {
+                stamp[w] = time;
+                dist[w] = 0;
+                return d;
+            }
+            if (p == ORPHAN) {
+                return Integer.MAX_VALUE;
+            }
+            d++;
+            w = head(p);
+        }
+    }
+
+    /** Motorul pentru graful rezidual CSR din FordFulkerson. */
+    static final class Residual extends BoykovKolmogorov implements MaxFlowEngine {
+        private ResidualGraph g;
+
+        Residual(int vertices) {
+            super(vertices);
+        }
+
+        @Override
+        public long maxFlow(ResidualGraph graph, int source, int sink, FlowMonitor monitor) {
+            g = graph;
+            try {
+                return solve(source, sink, 0, monitor);
+            } finally {
+                g = null;
+            }
+        }
+
+        @Override
+        int arcStart(int v) {
+            return g.start[v];
+        }
+
+        @Override
+        int arcEnd(int v) {
+            return g.start[v + 1];
+        }
+
+        @Override
+        int head(int arc) {
+            return g.head[arc];
+        }
+
+        @Override
+        int sister(int arc) {
+            return g.reverse[arc];
+        }
+
+        @Override
+        int residual(int arc) {
+            return g.capacity[arc] - g.flow[arc];
+        }
+
+        @Override
+        void push(int arc, int amount) {
+            g.push(arc, amount);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Buclă paralelă pe un ForkJoinPool: intervalul [0, size) este împărțit în
+ * bucăți egale, fiecare rulată ca o sarcină. Folosită de ParallelPushRelabel
+ * și ForceLayout, care păstrează câte un tablou de lucru per bucată.
+ */
+final class Chunks {
+    interface Task {
+        void run(int chunk, int from, int to);
+    }
+
+    private Chunks() {
+    }
+
+    // Împarte [0, size) în cel mult chunks bucăți egale și le execută pe pool, așteptând terminarea
+    static void run(ForkJoinPool pool, int chunks, int size, Task task) {
+        if (size == 0) {
+            return;
+        }
+        int parts = Math.min(chunks, size);
+        List<Callable<Void>> tasks = new ArrayList<>(parts);
+        for (int c = 0; c < parts; c++) {
+            int chunk = c;
+            int from = (int) ((long) size * c / parts);
+            int to = (int) ((long) size * (c + 1) / parts);
+            tasks.add(() -> {
+                task.run(chunk, from, to);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Calcul paralel întrerupt", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Citește o rețea în format DIMACS max-flow (liniile c, p max, n, a) direct
+ * din fișierul mapat în memorie, octet cu octet, fără a crea String-uri pe
+ * linie. Fișierele mai mari de 1 GB sunt mapate pe segmente succesive.
+ * Nodurile din fișier sunt numerotate de la 1; în FordFulkerson de la 0.
+ *
+ * Cu readMapped, muchiile sunt scrise direct într-un MappedResidualGraph,
+ * fără a trece prin heap.
+ */
+class DimacsReader {
+    private static final long SEGMENT = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer buffer;
+    private long base;
+    private int pos, limit;
+
+    // Octetul curent (-1 la sfârșitul fișierului) și linia curentă pentru erori
+    private int ch;
+    private long line = 1;
+
+    private FordFulkerson solver;
+    private MappedResidualGraph.Builder mapped;
+    private Path directory;
+    private int vertices = -1;
+    private int source = -1, sink = -1;
+
+    private DimacsReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    static DimacsReader read(Path path, FlowAlgorithm algorithm) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            DimacsReader reader = new DimacsReader(channel);
+            reader.parse(algorithm);
+            return reader;
+        }
+    }
+
+    // Rețeaua în fișiere mapate create în directory, pentru rețele mai mari decât heap-ul
+    static DimacsReader readMapped(Path path, Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            DimacsReader reader = new DimacsReader(channel);
+            reader.directory = directory;
+            try {
+                reader.parse(FlowAlgorithm.DINIC);
+            } catch (IOException | RuntimeException ex) {
+                if (reader.mapped != null) {
+                    reader.mapped.close();
+                }
+                throw ex;
+            }
+            return reader;
+        }
+    }
+
+    MappedResidualGraph.Builder getMappedBuilder() {
+        return mapped;
+    }
+
+    FordFulkerson getSolver() {
+        return solver;
+    }
+
+    int getSource() {
+        return source;
+    }
+
+    int getSink() {
+        return sink;
+    }
+
+    private void parse(FlowAlgorithm algorithm) throws IOException {
+        advance();
+        while (ch != -1) {
+            switch (ch) {
+                case ' ':
+                case '\t':
+                    advance();
+                    break;
+                case 'c':
+                case '\n':
+                case '\r':
+                    skipLine();
+                    break;
+                case 'p':
+                    advance();
+                    readProblem(algorithm);
+                    break;
+                case 'n':
+                    advance();
+                    readNode();
+                    break;
+                case 'a':
+                    advance();
+                    readArc();
+                    break;
+                default:
+                    throw error("linie necunoscută '" + (char) ch + "'");
+            }
+        }
+
+        if (vertices < 0) {
+            throw error("lipsește linia 'p max'");
+        }
+        if (source < 0 || sink < 0) {
+            throw error("lipsesc nodurile sursă/destinație ('n ID s', 'n ID t')");
+        }
+        if (source == sink) {
+            throw error("sursa și destinația coincid");
+        }
+    }
+
+    private void readProblem(FlowAlgorithm algorithm) throws IOException {
+        if (vertices >= 0) {
+            throw error("linia 'p' apare de mai multe ori");
+        }
+        skipBlanks();
+        if (ch != 'm' || advance() != 'a' || advance() != 'x') {
+            throw error("se acceptă doar problema 'max'");
+        }
+        advance();
+
+        int nodes = readInt();
+        int arcs = readInt();
+        if (nodes < 0 || arcs < 0) {
+            throw error("număr negativ de noduri sau arce");
+        }
+        vertices = nodes;
+        if (directory != null) {
+            mapped = MappedResidualGraph.builder(directory, nodes, arcs);
+        } else {
+            solver = new FordFulkerson(nodes, algorithm);
+            solver.reserveEdges(arcs);
+        }
+        skipLine();
+    }
+
+    private void readNode() throws IOException {
+        int id = readNodeId("n");
+        skipBlanks();
+        if (ch == 's') {
+            source = id;
+        } else if (ch == 't') {
+            sink = id;
+        } else {
+            throw error("tipul nodului trebuie să fie 's' sau 't'");
+        }
+        skipLine();
+    }
+
+    private void readArc() throws IOException {
+        int from = readNodeId("a");
+        int to = readNodeId("a");
+        int capacity = readInt();
+        if (capacity < 0) {
+            throw error("capacitate negativă");
+        }
+        if (mapped != null) {
+            try {
+                mapped.addEdge(from, to, capacity);
+            } catch (IllegalStateException ex) {
+                throw error("mai multe arce decât în linia 'p max'");
+            }
+        } else {
+            solver.addEdge(from, to, capacity, 0);
+        }
+        skipLine();
+    }
+
+    private int readNodeId(String kind) throws IOException {
+        if (vertices < 0) {
+            throw error("linia '" + kind + "' apare înaintea liniei 'p max'");
+        }
+        int id = readInt();
+        if (id < 1 || id > vertices) {
+            throw error("nod inexistent " + id);
+        }
+        return id - 1;
+    }
+
+    private int readInt() throws IOException {
+        skipBlanks();
+        boolean negative = ch == '-';
+        if (negative) {
+            advance();
+        }
+        if (ch < '0' || ch > '9') {
+            throw error("se aștepta un număr");
+        }
+
+        long value = 0;
+        while (ch >= '0' && ch <= '9') {
+            value = value * 10 + (ch - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw error("număr prea mare");
+            }
+            advance();
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    private void skipBlanks() throws IOException {
+        while (ch == ' ' || ch == '\t') {
+            advance();
+        }
+    }
+
+    private void skipLine() throws IOException {
+        while (ch != '\n' && ch != -1) {
+            advance();
+        }
+        if (ch == '\n') {
+            line++;
+            advance();
+        }
+    }
+
+    private int advance() throws IOException {
+        if (pos == limit) {
+            if (base + limit >= size) {
+                return ch = -1;
+            }
+            base += limit;
+            int length = (int) Math.min(SEGMENT, size - base);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+            pos = 0;
+            limit = length;
+        }
+        return ch = buffer.get(pos++) & 0xFF;
+    }
+
+    private IOException error(String message) {
+        return new IOException("DIMACS, linia " + line + ": " + message);
+    }
+}
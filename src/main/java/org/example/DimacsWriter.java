@@ -0,0 +1,175 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scrie soluția în formatul DIMACS: linia "s" cu valoarea fluxului, câte o
+ * linie "f" pentru fiecare arc (în ordinea din fișierul de intrare) și arcele
+ * tăieturii minime ca linii de comentariu "c cut". Numerele sunt formatate
+ * direct în buffer, fără String-uri pe linie.
+ */
+class DimacsWriter implements AutoCloseable {
+    private static final byte[] CUT_LINE = {'c', ' ', 'c', 'u', 't', ' '};
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[1 << 16];
+    private final byte[] digits = new byte[20];
+    private int size;
+
+    DimacsWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    // Muchiile soluției, citite fie din FordFulkerson, fie din MappedResidualGraph
+    private interface Solution {
+        int edgeCount();
+        int from(int edge);
+        int to(int edge);
+        int flow(int edge);
+        int capacity(int edge);
+    }
+
+    void writeSolution(FordFulkerson solver, long maxFlow, int[] minCut) throws IOException {
+        writeSolution(solver.getAlgorithm().toString(), new Solution() {
+            public int edgeCount() { return solver.getEdgeCount(); }
+            public int from(int edge) { return solver.getEdgeFrom(edge); }
+            public int to(int edge) { return solver.getEdgeTo(edge); }
+            public int flow(int edge) { return solver.getEdgeFlow(edge); }
+            public int capacity(int edge) { return solver.getEdgeCapacity(edge); }
+        }, maxFlow, minCut);
+    }
+
+    void writeSolution(MappedResidualGraph graph, long maxFlow, int[] minCut) throws IOException {
+        writeSolution(FlowAlgorithm.DINIC + ", fișiere mapate", new Solution() {
+            public int edgeCount() { return graph.edgeCount; }
+            public int from(int edge) { return graph.getEdgeFrom(edge); }
+            public int to(int edge) { return graph.getEdgeTo(edge); }
+            public int flow(int edge) { return graph.getEdgeFlow(edge); }
+            public int capacity(int edge) { return graph.getEdgeCapacity(edge); }
+        }, maxFlow, minCut);
+    }
+
+    private void writeSolution(String algorithm, Solution solver, long maxFlow, int[] minCut) throws IOException {
+        writeText("c FlowViz - " + algorithm + "\n");
+        writeText("s ");
+        writeNumber(maxFlow);
+        writeByte('\n');
+
+        // O linie "f" are cel mult 2 + 3 * 12 octeți; o scriem direct în buffer
+        for (int e = 0, m = solver.edgeCount(); e < m; e++) {
+            if (buffer.length - size < 40) {
+                drain();
+            }
+            byte[] buf = buffer;
+            int p = size;
+            buf[p++] = 'f';
+            buf[p++] = ' ';
+            p = putInt(buf, p, solver.from(e) + 1);
+            buf[p++] = ' ';
+            p = putInt(buf, p, solver.to(e) + 1);
+            buf[p++] = ' ';
+            p = putInt(buf, p, solver.flow(e));
+            buf[p++] = '\n';
+            size = p;
+        }
+
+        long cutCapacity = 0;
+        for (int e : minCut) {
+            cutCapacity += solver.capacity(e);
+        }
+        writeText("c min-cut " + minCut.length + " arce, capacitate " + cutCapacity + "\n");
+        for (int e : minCut) {
+            writeBytes(CUT_LINE);
+            writeNumber(solver.from(e) + 1);
+            writeByte(' ');
+            writeNumber(solver.to(e) + 1);
+            writeByte('\n');
+        }
+    }
+
+    // Scrie value în buf de la poziția p și returnează poziția de după ultima cifră
+    private static int putInt(byte[] buf, int p, int value) {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                for (byte b : Integer.toString(value).getBytes(StandardCharsets.US_ASCII)) {
+                    buf[p++] = b;
+                }
+                return p;
+            }
+            buf[p++] = '-';
+            value = -value;
+        }
+
+        int length = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            length++;
+        }
+        int end = p + length;
+        for (int i = end - 1; i >= p; i--) {
+            int q = value / 10;
+            buf[i] = (byte) ('0' + value - q * 10);
+            value = q;
+        }
+        return end;
+    }
+
+    private void writeText(String text) throws IOException {
+        writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    private void writeNumber(long value) throws IOException {
+        if (buffer.length - size < 21) {
+            drain();
+        }
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int n = 0;
+        while (value > Integer.MAX_VALUE) {
+            digits[n++] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        // Restul cifrelor cu aritmetică int, mult mai rapidă decât împărțirea long
+        int rest = (int) value;
+        do {
+            int q = rest / 10;
+            digits[n++] = (byte) ('0' + rest - q * 10);
+            rest = q;
+        } while (rest > 0);
+        while (n > 0) {
+            buffer[size++] = digits[--n];
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (size == buffer.length) {
+            drain();
+        }
+        buffer[size++] = (byte) b;
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, size);
+        size = 0;
+    }
+
+    void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+}
@@ -0,0 +1,187 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Algoritmul lui Dinic: graf de niveluri construit prin BFS, apoi flux
+ * blocant găsit cu DFS iterativ și pointeri la arcul curent al fiecărui nod.
+ * DFS-ul folosește o stivă explicită de arce, deci adâncimea grafului nu
+ * poate depăși stiva firului de execuție.
+ *
+ * Fazele lucrează prin ResidualArcs, deci același cod rulează și pe
+ * MappedResidualGraph (modul -m), unde parcurgerea arcelor unui nod în ordine
+ * face accesul la fișierul mapat în mare parte secvențial.
+ *
+ * Cu scalarea capacităților, fazele Dinic sunt grupate după pragul Δ: atât
+ * nivelurile cât și fluxul blocant folosesc doar arcele cu capacitatea
+ * reziduală cel puțin Δ, iar Δ se înjumătățește când destinația nu mai este
+ * accesibilă.
+ */
+class Dinic implements MaxFlowEngine {
+    private final int[] level;
+    private final int[] queue;
+    private final int[] currentArc;
+    private final int[] path;
+
+    // Pragul Δ al fazei curente de scalare; 1 admite orice arc nesaturat
+    private final boolean scaling;
+    private int delta = 1;
+
+    Dinic(int vertices) {
+        this(vertices, false);
+    }
+
+    Dinic(int vertices, boolean scaling) {
+        this.scaling = scaling;
+        level = new int[vertices];
+        queue = new int[vertices];
+        currentArc = new int[vertices];
+        path = new int[vertices];
+    }
+
+    @Override
+    public long maxFlow(ResidualGraph g, int source, int sink, FlowMonitor monitor) {
+        if (!scaling) {
+            return phases(g, source, sink, 0, monitor);
+        }
+
+        long maxFlow = 0;
+        SolverStats stats = monitor.stats();
+        try {
+            for (delta = g.scalingStart(); delta >= 1; delta >>= 1) {
+                if (stats != null) {
+                    stats.scalingPhases++;
+                }
+                maxFlow = phases(g, source, sink, maxFlow, monitor);
+            }
+        } finally {
+            delta = 1;
+        }
+        return maxFlow;
+    }
+
+    // Fără scalare, pe orice graf rezidual, inclusiv pe MappedResidualGraph
+    long maxFlow(ResidualArcs g, int source, int sink, FlowMonitor monitor) {
+        return phases(g, source, sink, 0, monitor);
+    }
+
+    // Faze Dinic cu pragul curent, cât timp destinația este accesibilă
+    private long phases(ResidualArcs g, int source, int sink, long maxFlow, FlowMonitor monitor) {
+        SolverStats stats = monitor.stats();
+
+        while (true) {
+            boolean reachable = buildLevels(g, source, sink, stats);
+            if (reachable) {
+                System.arraycopy(g.start(), 0, currentArc, 0, level.length);
+                maxFlow = blockingFlow(g, source, sink, maxFlow, monitor, stats);
+            }
+            if (stats != null) {
+                stats.searches++;
+            }
+            if (!reachable) {
+                break;
+            }
+        }
+
+        return maxFlow;
+    }
+
+    // BFS din sursă; nivelurile de după cel al destinației nu mai sunt explorate
+    private boolean buildLevels(ResidualArcs g, int source, int sink, SolverStats stats) {
+        int[] start = g.start();
+        Arrays.fill(level, -1);
+        int qHead = 0, qTail = 0;
+        long scanned = 0;
+        level[source] = 0;
+        queue[qTail++] = source;
+
+        while (qHead < qTail) {
+            int u = queue[qHead++];
+            if (level[sink] != -1 && level[u] >= level[sink]) {
+                break;
+            }
+            scanned += start[u + 1] - start[u];
+
+            for (int a = start[u], end = start[u + 1]; a < end; a++) {
+                int v = g.head(a);
+                if (level[v] == -1 && g.residual(a) >= delta) {
+                    level[v] = level[u] + 1;
+                    queue[qTail++] = v;
+                }
+            }
+        }
+
+        if (stats != null) {
+            stats.arcsScanned += scanned;
+        }
+        return level[sink] != -1;
+    }
+
+    // Returnează fluxul total, pornind de la cel trimis în fazele anterioare
+    private long blockingFlow(ResidualArcs g, int source, int sink, long total,
+                              FlowMonitor monitor, SolverStats stats) {
+        int[] start = g.start();
+        int depth = 0;
+        int u = source;
+        long scanned = 0;
+
+        while (true) {
+            if (u == sink) {
+                // Capacitatea minimă pe drum; reținem primul arc saturat
+                int pathFlow = Integer.MAX_VALUE;
+                int bottleneck = 0;
+                for (int i = 0; i < depth; i++) {
+                    int r = g.residual(path[i]);
+                    if (r < pathFlow) {
+                        pathFlow = r;
+                        bottleneck = i;
+                    }
+                }
+
+                for (int i = 0; i < depth; i++) {
+                    g.push(path[i], pathFlow);
+                }
+                total += pathFlow;
+                if (stats != null) {
+                    stats.augmentingPaths++;
+                    stats.recordPath(depth);
+                }
+                monitor.step(total);
+
+                // Revenim la nodul din care pleacă primul arc saturat
+                depth = bottleneck;
+                u = g.tail(path[bottleneck]);
+                continue;
+            }
+
+            // Avansăm pe primul arc admisibil începând de la arcul curent
+            int a = currentArc[u];
+            int end = start[u + 1];
+            int next = level[u] + 1;
+            int first = a;
+            while (a < end && (level[g.head(a)] != next || g.residual(a) < delta)) {
+                a++;
+            }
+            scanned += a - first + 1;
+            currentArc[u] = a;
+
+            if (a < end) {
+                path[depth++] = a;
+                u = g.head(a);
+            } else {
+                // Fundătură: nodul nu mai poate contribui în această fază
+                if (u == source) {
+                    break;
+                }
+                level[u] = -1;
+                u = g.tail(path[--depth]);
+                currentArc[u]++;
+            }
+        }
+
+        if (stats != null) {
+            stats.arcsScanned += scanned;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,147 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Ford-Fulkerson cu drumuri de augmentare găsite prin BFS (Edmonds-Karp).
+ *
+ * Cu scalarea capacităților, BFS-ul admite doar arcele cu capacitatea
+ * reziduală cel puțin Δ; Δ pornește de la cea mai mare putere a lui 2 sub
+ * capacitatea maximă și se înjumătățește după fiecare fază, deci drumurile
+ * cu blocaj mic sunt căutate doar la final: O(E² log U) în total.
+ */
+class EdmondsKarp implements MaxFlowEngine {
+    // Buffere reutilizate între căutări: coadă circulară, arcul părinte
+    // și vectorul de vizitare marcat cu generația curentă
+    private final int[] queue;
+    private final int[] parentArc;
+    private final int[] visited;
+    private int generation;
+
+    // Pragul Δ al fazei curente de scalare; 1 admite orice arc nesaturat
+    private final boolean scaling;
+    private int delta = 1;
+
+    EdmondsKarp(int vertices) {
+        this(vertices, false);
+    }
+
+    EdmondsKarp(int vertices, boolean scaling) {
+        this.scaling = scaling;
+        queue = new int[vertices];
+        parentArc = new int[vertices];
+        visited = new int[vertices];
+    }
+
+    @Override
+    public long maxFlow(ResidualGraph g, int source, int sink, FlowMonitor monitor) {
+        if (!scaling) {
+            return augment(g, source, sink, Long.MAX_VALUE, monitor, 0);
+        }
+
+        long total = 0;
+        SolverStats stats = monitor.stats();
+        try {
+            for (delta = g.scalingStart(); delta >= 1; delta >>= 1) {
+                if (stats != null) {
+                    stats.scalingPhases++;
+                }
+                total += augment(g, source, sink, Long.MAX_VALUE, monitor, total);
+            }
+        } finally {
+            delta = 1;
+        }
+        return total;
+    }
+
+    // Trimite cel mult limit unități de flux de la from la to pe drumuri BFS.
+    // Folosit și pentru repararea locală a fluxului după micșorarea unei capacități.
+    long augment(ResidualGraph g, int from, int to, long limit, FlowMonitor monitor) {
+        return augment(g, from, to, limit, monitor, 0);
+    }
+
+    // base este fluxul trimis în fazele anterioare, raportat monitorului împreună cu cel nou
+    private long augment(ResidualGraph g, int from, int to, long limit, FlowMonitor monitor, long base) {
+        long total = 0;
+        SolverStats stats = monitor != null ? monitor.stats() : null;
+
+        // BFS pentru a găsi un drum de augmentare; ne oprim când nu mai există
+        while (total < limit) {
+            boolean found = findAugmentingPath(g, from, to, stats);
+            if (stats != null) {
+                stats.searches++;
+            }
+            if (!found) {
+                break;
+            }
+
+            // Găsim capacitatea reziduală minimă de-a lungul drumului
+            int pathFlow = (int) Math.min(Integer.MAX_VALUE, limit - total);
+            int length = 0;
+            for (int v = to; v != from; v = g.tail(parentArc[v])) {
+                pathFlow = Math.min(pathFlow, g.residual(parentArc[v]));
+                length++;
+            }
+            if (stats != null) {
+                stats.augmentingPaths++;
+                stats.recordPath(length);
+            }
+
+            // Actualizăm fluxurile de-a lungul drumului
+            for (int v = to; v != from; v = g.tail(parentArc[v])) {
+                g.push(parentArc[v], pathFlow);
+            }
+
+            total += pathFlow;
+            if (monitor != null) {
+                monitor.step(base + total);
+            }
+        }
+
+        return total;
+    }
+
+    private int nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            generation = 1;
+        }
+        return generation;
+    }
+
+    // BFS în graful rezidual; returnează true dacă destinația a fost atinsă.
+    // Arcele examinate sunt numărate local și adăugate la statistici o singură dată
+    private boolean findAugmentingPath(ResidualGraph g, int source, int sink, SolverStats stats) {
+        int mark = nextGeneration();
+        int qHead = 0, qTail = 0;
+        long scanned = 0;
+        boolean found = false;
+
+        queue[qTail++] = source;
+        visited[source] = mark;
+
+        search:
+        while (qHead < qTail) {
+            int u = queue[qHead++];
+            scanned += g.start[u + 1] - g.start[u];
+
+            for (int a = g.start[u], end = g.start[u + 1]; a < end; a++) {
+                int v = g.head[a];
+                if (visited[v] != mark && g.capacity[a] - g.flow[a] >= delta) {
+                    visited[v] = mark;
+                    parentArc[v] = a;
+                    if (v == sink) {
+                        found = true;
+                        break search;
+                    }
+                    queue[qTail++] = v;
+                }
+            }
+        }
+
+        if (stats != null) {
+            stats.arcsScanned += scanned;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example;
+
+/**
+ * Algoritmii de flux maxim disponibili în FordFulkerson. MIN_COST găsește
+ * dintre toate fluxurile maxime pe cel cu costul total minim.
+ */
+public enum FlowAlgorithm {
+    EDMONDS_KARP("Edmonds-Karp (BFS)"),
+    BIDIRECTIONAL_BFS("Edmonds-Karp (BFS bidirecțional)"),
+    PUSH_RELABEL("Push-relabel"),
+    DINIC("Dinic"),
+    PARALLEL_PUSH_RELABEL("Push-relabel paralel"),
+    BOYKOV_KOLMOGOROV("Boykov-Kolmogorov"),
+    MIN_COST("Cost minim (drumuri minime)");
+
+    private final String label;
+
+    FlowAlgorithm(String label) {
+        this.label = label;
+    }
+
+    // Algoritmii cu drumuri de augmentare pot folosi scalarea capacităților
+    public boolean supportsScaling() {
+        return this == EDMONDS_KARP || this == BIDIRECTIONAL_BFS || this == DINIC;
+    }
+
+    MaxFlowEngine createEngine(int vertices, int threads, boolean scaling) {
+        switch (this) {
+            case BIDIRECTIONAL_BFS:
+                return new BidirectionalEdmondsKarp(vertices, scaling);
+            case PUSH_RELABEL:
+                return new PushRelabel(vertices);
+            case DINIC:
+                return new Dinic(vertices, scaling);
+            case PARALLEL_PUSH_RELABEL:
+                return new ParallelPushRelabel(vertices, threads);
+            case BOYKOV_KOLMOGOROV:
+                return new BoykovKolmogorov.Residual(vertices);
+            case MIN_COST:
+                return new MinCostFlow(vertices);
+            case EDMONDS_KARP:
+            default:
+                return new EdmondsKarp(vertices, scaling);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
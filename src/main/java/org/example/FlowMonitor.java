@@ -0,0 +1,106 @@
+package org.example;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Urmărește un calcul de flux aflat în desfășurare: numără pașii algoritmului
+ * (drumuri de augmentare, faze sau runde), raportează periodic progresul și
+ * permite anularea cooperativă din alt fir de execuție.
+ *
+ * Algoritmii apelează step() pe firul lor de calcul. Raportarea către listener
+ * are loc tot acolo, cel mult o dată la fiecare interval, astfel încât
+ * instantaneul fluxurilor este consistent fără sincronizare suplimentară.
+ */
+public class FlowMonitor {
+    public interface Listener {
+        /**
+         * Progresul curent. snapshot conține fluxul pe fiecare muchie (după
+         * id-ul din addEdge), fără tăietură; la push-relabel este un preflux,
+         * nu încă un flux. Cu reducerea rețelei, fluxul rețelei reduse este
+         * distribuit înapoi pe muchiile originale. Este null pentru GridGraph,
+         * care nu are graf rezidual.
+         */
+        void progress(long steps, long flow, long elapsedNanos, FlowResult snapshot);
+    }
+
+    private final Listener listener;
+    private final long intervalNanos;
+    private volatile boolean cancelled;
+
+    // Starea calculului curent, folosită doar de firul care calculează
+    private ResidualGraph graph;
+    // Copiază în graph fluxul grafului pe care rulează algoritmul, dacă diferă (rețeaua redusă)
+    private Runnable sync;
+    private SolverStats stats;
+    private long baseFlow;
+    private long steps;
+    private long startNanos;
+    private long nextReport;
+
+    public FlowMonitor() {
+        this(null, Long.MAX_VALUE);
+    }
+
+    public FlowMonitor(Listener listener, long intervalMillis) {
+        this.listener = listener;
+        this.intervalNanos = intervalMillis == Long.MAX_VALUE ? Long.MAX_VALUE : intervalMillis * 1_000_000L;
+    }
+
+    // Poate fi apelat din orice fir; calculul se oprește la următorul pas
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    void begin(ResidualGraph g, long flowSoFar, SolverStats stats) {
+        graph = g;
+        sync = null;
+        this.stats = stats;
+        baseFlow = flowSoFar;
+        steps = 0;
+        startNanos = System.nanoTime();
+        nextReport = listener == null ? Long.MAX_VALUE : startNanos + intervalNanos;
+    }
+
+    void end() {
+        graph = null;
+        sync = null;
+        stats = null;
+    }
+
+    // Instantaneele sunt luate din graful dat la begin după ce sync îi actualizează fluxurile
+    void syncSnapshots(Runnable sync) {
+        this.sync = sync;
+    }
+
+    // Statisticile calculului curent, sau null dacă nu sunt activate
+    SolverStats stats() {
+        return stats;
+    }
+
+    // Apelat de algoritmi după fiecare pas; flow este fluxul trimis de la începutul apelului
+    void step(long flow) {
+        steps++;
+        if (cancelled) {
+            throw new CancellationException("Calcul anulat");
+        }
+        if (nextReport != Long.MAX_VALUE) {
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                nextReport = now + intervalNanos;
+                if (sync != null && graph != null) {
+                    sync.run();
+                }
+                listener.progress(steps, baseFlow + flow, now - startNanos,
+                        graph == null ? null : new FlowResult(graph, -1, -1, baseFlow + flow, null, null));
+            }
+        }
+    }
+}
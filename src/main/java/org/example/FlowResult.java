@@ -0,0 +1,346 @@
+package org.example;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Rezultatul unui calcul de flux în formă compactă: fluxul fiecărei muchii
+ * într-un int[] indexat după id-ul din addEdge, partea sursei din tăietura
+ * minimă ca BitSet și id-urile muchiilor din tăietură ca int[].
+ *
+ * Topologia (capetele muchiilor) nu este copiată: este citită din graful
+ * rezidual, ale cărui arce nu se mai schimbă după construcție. Pentru codul
+ * care lucrează cu Map<Edge, Integer> / Set<Edge> există vederi read-only
+ * (asFlowMap, asMinCutSet) care creează obiectele Edge doar la parcurgere.
+ * Obiectul nu se modifică după creare.
+ */
+public final class FlowResult {
+    private final ResidualGraph graph;
+    private final int edgeCount;
+    private final int source, sink;
+    private final long maxFlow;
+    private final int[] flow;
+    private final int[] capacity;
+
+    // Lipsesc (null) la instantaneele intermediare ale unui calcul
+    private final BitSet sourceSide;
+    private final int[] cutEdges;
+    private final long cutCapacity;
+
+    // Tabel (from, to) -> id muchie cu adresare deschisă, construit la prima căutare;
+    // pairKeys este publicat ultimul, deci poate fi citit din orice fir
+    private volatile long[] pairKeys;
+    private int[] pairEdges;
+    private int flowMapSize = -1;
+    private int[] distinctCutEdges;
+
+    // Copiază doar fluxurile și capacitățile curente; sourceSide și cutEdges sunt preluate
+    FlowResult(ResidualGraph graph, int source, int sink, long maxFlow, BitSet sourceSide, int[] cutEdges) {
+        this.graph = graph;
+        this.edgeCount = graph.edgeCount;
+        this.source = source;
+        this.sink = sink;
+        this.maxFlow = maxFlow;
+        this.flow = new int[edgeCount];
+        this.capacity = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int arc = graph.edgeArc[e];
+            flow[e] = graph.flow[arc];
+            capacity[e] = graph.capacity[arc];
+        }
+        this.sourceSide = sourceSide;
+        this.cutEdges = cutEdges;
+
+        long total = 0;
+        if (cutEdges != null) {
+            for (int e : cutEdges) {
+                total += capacity[e];
+            }
+        }
+        this.cutCapacity = total;
+    }
+
+    public int getSource() { return source; }
+    public int getSink() { return sink; }
+    public long getMaxFlow() { return maxFlow; }
+    public int getEdgeCount() { return edgeCount; }
+    public int getVertexCount() { return graph.vertices; }
+
+    public int getEdgeFrom(int edge) {
+        return graph.tail(graph.edgeArc[edge]);
+    }
+
+    public int getEdgeTo(int edge) {
+        return graph.head[graph.edgeArc[edge]];
+    }
+
+    public int getCapacity(int edge) {
+        return capacity[edge];
+    }
+
+    public int getFlow(int edge) {
+        return flow[edge];
+    }
+
+    // false pentru instantaneele intermediare, care au doar fluxuri
+    public boolean hasMinCut() {
+        return sourceSide != null;
+    }
+
+    public boolean isSourceSide(int vertex) {
+        return sourceSide != null && sourceSide.get(vertex);
+    }
+
+    // Copie a partiției; pentru interogări punctuale isSourceSide nu alocă
+    public BitSet getSourceSide() {
+        return sourceSide == null ? new BitSet() : (BitSet) sourceSide.clone();
+    }
+
+    public int getCutEdgeCount() {
+        return cutEdges == null ? 0 : cutEdges.length;
+    }
+
+    public int getCutEdge(int i) {
+        return cutEdges[i];
+    }
+
+    public int[] getCutEdges() {
+        return cutEdges == null ? new int[0] : cutEdges.clone();
+    }
+
+    public long getCutCapacity() {
+        return cutCapacity;
+    }
+
+    // Memoria proprie a rezultatului, fără graful rezidual (comun cu solverul)
+    long retainedBytes() {
+        long bytes = 96 + 8L * edgeCount;
+        if (sourceSide != null) bytes += sourceSide.size() / 8;
+        if (cutEdges != null) bytes += 4L * cutEdges.length;
+        long[] keys = pairKeys;
+        if (keys != null) bytes += 12L * keys.length;
+        if (distinctCutEdges != null) bytes += 4L * distinctCutEdges.length;
+        return bytes;
+    }
+
+    public boolean isCutEdge(int edge) {
+        int arc = graph.edgeArc[edge];
+        return sourceSide != null && capacity[edge] > 0
+                && sourceSide.get(graph.tail(arc)) && !sourceSide.get(graph.head[arc]);
+    }
+
+    /**
+     * Id-ul muchiei from -> to, sau -1. Dacă există mai multe muchii paralele,
+     * se întoarce ultima adăugată, ca în vechiul dicționar al fluxurilor.
+     */
+    public int findEdge(int from, int to) {
+        long[] keys = pairKeys;
+        if (keys == null) {
+            buildPairIndex();
+            keys = pairKeys;
+        }
+        int[] edges = pairEdges;
+        long key = pairKey(from, to);
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; edges[i] >= 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return edges[i];
+            }
+        }
+        return -1;
+    }
+
+    private synchronized void buildPairIndex() {
+        if (pairKeys != null) {
+            return;
+        }
+        int size = Integer.highestOneBit(Math.max(2, edgeCount) * 2 - 1) << 1;
+        long[] keys = new long[size];
+        int[] edges = new int[size];
+        Arrays.fill(edges, -1);
+        int mask = size - 1;
+        for (int e = 0; e < edgeCount; e++) {
+            long key = pairKey(getEdgeFrom(e), getEdgeTo(e));
+            int i = mix(key) & mask;
+            while (edges[i] >= 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            edges[i] = e;
+        }
+        pairEdges = edges;
+        pairKeys = keys;
+    }
+
+    private static long pairKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private Edge edgeView(int e) {
+        return new Edge(getEdgeFrom(e), getEdgeTo(e), capacity[e], 0, 0);
+    }
+
+    /**
+     * Vedere read-only Map<Edge, Integer> cu muchiile de capacitate și flux
+     * pozitiv, echivalentă cu vechiul rezultat al lui getFlows. Cheile sunt
+     * create la parcurgere; get/containsKey nu creează obiecte Edge.
+     */
+    public Map<Edge, Integer> asFlowMap() {
+        return new AbstractMap<Edge, Integer>() {
+            @Override
+            public Integer get(Object key) {
+                int e = lookup(key);
+                return e >= 0 ? flow[e] : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return lookup(key) >= 0;
+            }
+
+            private int lookup(Object key) {
+                if (!(key instanceof Edge)) return -1;
+                Edge edge = (Edge) key;
+                int e = findEdge(edge.from, edge.to);
+                return e >= 0 && capacity[e] > 0 && flow[e] > 0 ? e : -1;
+            }
+
+            @Override
+            public int size() {
+                return flowMapSize();
+            }
+
+            @Override
+            public Set<Entry<Edge, Integer>> entrySet() {
+                return new AbstractSet<Entry<Edge, Integer>>() {
+                    @Override
+                    public int size() {
+                        return flowMapSize();
+                    }
+
+                    @Override
+                    public Iterator<Entry<Edge, Integer>> iterator() {
+                        return new Iterator<Entry<Edge, Integer>>() {
+                            private int next = advance(0);
+
+                            private int advance(int e) {
+                                while (e < edgeCount && !inFlowMap(e)) {
+                                    e++;
+                                }
+                                return e;
+                            }
+
+                            @Override
+                            public boolean hasNext() {
+                                return next < edgeCount;
+                            }
+
+                            @Override
+                            public Entry<Edge, Integer> next() {
+                                if (next >= edgeCount) throw new NoSuchElementException();
+                                int e = next;
+                                next = advance(e + 1);
+                                return new SimpleImmutableEntry<>(edgeView(e), flow[e]);
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    // Muchie cu flux pozitiv care este și ultima adăugată pentru perechea ei (from, to)
+    private boolean inFlowMap(int e) {
+        return capacity[e] > 0 && flow[e] > 0 && findEdge(getEdgeFrom(e), getEdgeTo(e)) == e;
+    }
+
+    private int flowMapSize() {
+        if (flowMapSize < 0) {
+            int count = 0;
+            for (int e = 0; e < edgeCount; e++) {
+                if (inFlowMap(e)) count++;
+            }
+            flowMapSize = count;
+        }
+        return flowMapSize;
+    }
+
+    /**
+     * Vedere read-only Set<Edge> a tăieturii minime. Muchiile paralele din
+     * tăietură apar o singură dată, ca într-un HashSet; contains nu creează obiecte.
+     */
+    public Set<Edge> asMinCutSet() {
+        return new AbstractSet<Edge>() {
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Edge)) return false;
+                Edge edge = (Edge) o;
+                if (!isSourceSide(edge.from) || isSourceSide(edge.to)) return false;
+                int e = findEdge(edge.from, edge.to);
+                if (e < 0) return false;
+                if (capacity[e] > 0) return true;
+                // Ultima muchie paralelă are capacitate 0; poate una anterioară este în tăietură
+                for (int c : distinctCut()) {
+                    if (getEdgeFrom(c) == edge.from && getEdgeTo(c) == edge.to) return true;
+                }
+                return false;
+            }
+
+            @Override
+            public int size() {
+                return distinctCut().length;
+            }
+
+            @Override
+            public Iterator<Edge> iterator() {
+                int[] cut = distinctCut();
+                return new Iterator<Edge>() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < cut.length;
+                    }
+
+                    @Override
+                    public Edge next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return edgeView(cut[i++]);
+                    }
+                };
+            }
+        };
+    }
+
+    // Muchiile tăieturii fără duplicatele (from, to); de obicei chiar cutEdges
+    private int[] distinctCut() {
+        int[] distinct = distinctCutEdges;
+        if (distinct == null) {
+            int count = getCutEdgeCount();
+            Set<Long> seen = new HashSet<>(count * 2);
+            distinct = new int[count];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                int e = cutEdges[i];
+                if (seen.add(pairKey(getEdgeFrom(e), getEdgeTo(e)))) {
+                    distinct[size++] = e;
+                }
+            }
+            distinct = size == count ? distinct : Arrays.copyOf(distinct, size);
+            distinctCutEdges = distinct;
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,302 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Aranjare force-directed (Fruchterman-Reingold): nodurile se resping cu forța
+ * k² / d, arcele își atrag capetele cu d² / k, iar o gravitație slabă spre
+ * centru ține componentele împreună. Deplasarea pe pas este limitată de o
+ * temperatură care scade la fiecare pas.
+ *
+ * Respingerea folosește aproximarea Barnes-Hut: un quadtree peste poziții, în
+ * care o celulă suficient de îndepărtată (latura / distanța < THETA) acționează
+ * ca un singur punct în centrul ei de masă, deci un pas costă O(V log V + E).
+ * Arborele este construit secvențial, apoi forțele sunt calculate în paralel pe
+ * bucăți de noduri; fiecare nod își scrie doar propria poziție nouă.
+ */
+final class ForceLayout {
+    // Distanța k a modelului, în pixeli; arcele reale cresc cu mărimea rețelei
+    static final double IDEAL = 110;
+    private static final double THETA = 0.9;
+    private static final double GRAVITY = 0.02;
+    private static final double COOLING = 0.98;
+    private static final int MAX_DEPTH = 48;
+
+    private static final int EMPTY = -1, INTERNAL = -2;
+
+    private final int n;
+    // Vecinii fiecărui nod (ambele sensuri), în format CSR
+    private final int[] start, adjacent;
+    private double[] x, y, nextX, nextY;
+    private double temperature;
+    private double lastMove = Double.MAX_VALUE;
+    private int steps;
+
+    // Quadtree: 4 copii per celulă, corpul unei frunze (sau EMPTY / INTERNAL),
+    // numărul de noduri și centrul lor de masă
+    private int[] child = new int[64], body = new int[16];
+    private double[] cellX = new double[16], cellY = new double[16], cellHalf = new double[16];
+    private double[] mass = new double[16], massX = new double[16], massY = new double[16];
+    private int cells;
+
+    private final ForkJoinPool pool;
+    private final int chunks;
+
+    ForceLayout(int vertices, int edgeCount, int[] from, int[] to, int[] x, int[] y, int threads) {
+        n = vertices;
+        start = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            if (from[e] == to[e]) continue;
+            start[from[e] + 1]++;
+            start[to[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        adjacent = new int[start[n]];
+        int[] next = Arrays.copyOf(start, n);
+        for (int e = 0; e < edgeCount; e++) {
+            if (from[e] == to[e]) continue;
+            adjacent[next[from[e]]++] = to[e];
+            adjacent[next[to[e]]++] = from[e];
+        }
+
+        // O mică deplasare deterministă desparte nodurile cu aceeași poziție
+        this.x = new double[n];
+        this.y = new double[n];
+        for (int v = 0; v < n; v++) {
+            int h = v * 0x9E3779B9;
+            this.x[v] = x[v] + ((h >>> 8) & 0xFF) / 256.0 - 0.5;
+            this.y[v] = y[v] + ((h >>> 16) & 0xFF) / 256.0 - 0.5;
+        }
+        nextX = new double[n];
+        nextY = new double[n];
+        temperature = IDEAL * Math.max(1, Math.sqrt(n)) / 4;
+
+        chunks = Math.max(1, threads) * 4;
+        pool = new ForkJoinPool(Math.max(1, threads));
+    }
+
+    int getSteps() {
+        return steps;
+    }
+
+    // Deplasarea maximă permisă la următorul pas
+    double getTemperature() {
+        return temperature;
+    }
+
+    // Nodurile nu se mai pot mișca (sau nu s-au mai mișcat) mai mult de o jumătate de pixel
+    boolean isStable() {
+        return temperature < 0.5 || lastMove < 0.5 || n < 2;
+    }
+
+    /** Un pas al aranjării; întoarce deplasarea maximă a unui nod. */
+    double step() {
+        if (n < 2) {
+            return 0;
+        }
+        buildTree();
+        double cx = massX[0], cy = massY[0];
+        double limit = temperature;
+        double[] moved = new double[chunks];
+
+        Chunks.run(pool, chunks, n, (chunk, from, to) -> {
+            int[] stack = new int[4 * MAX_DEPTH + 8];
+            double k2 = IDEAL * IDEAL;
+            double largest = 0;
+            for (int v = from; v < to; v++) {
+                double px = x[v], py = y[v];
+                double fx = 0, fy = 0;
+
+                // Respingere: parcurgerea arborelui cu o stivă
+                int size = 0;
+                stack[size++] = 0;
+                while (size > 0) {
+                    int c = stack[--size];
+                    double m = mass[c];
+                    double dx = px - massX[c], dy = py - massY[c];
+                    if (body[c] == v) {
+                        // Frunza nodului însuși (eventual cu noduri suprapuse)
+                        if (m == 1) continue;
+                        dx = dx * m / (m - 1);
+                        dy = dy * m / (m - 1);
+                        m -= 1;
+                    }
+                    double d2 = dx * dx + dy * dy;
+                    double side = 2 * cellHalf[c];
+                    boolean outside = Math.abs(px - cellX[c]) > cellHalf[c] || Math.abs(py - cellY[c]) > cellHalf[c];
+                    if (body[c] != INTERNAL || outside && side * side < THETA * THETA * d2) {
+                        if (d2 < 1e-4) continue;
+                        double f = k2 * m / d2;
+                        fx += dx * f;
+                        fy += dy * f;
+                    } else {
+                        for (int q = 0; q < 4; q++) {
+                            int sub = child[4 * c + q];
+                            if (sub >= 0) stack[size++] = sub;
+                        }
+                    }
+                }
+
+                // Atracție pe arce
+                for (int i = start[v]; i < start[v + 1]; i++) {
+                    int u = adjacent[i];
+                    double dx = px - x[u], dy = py - y[u];
+                    double d = Math.sqrt(dx * dx + dy * dy);
+                    fx -= dx * d / IDEAL;
+                    fy -= dy * d / IDEAL;
+                }
+
+                fx -= (px - cx) * GRAVITY;
+                fy -= (py - cy) * GRAVITY;
+
+                double length = Math.sqrt(fx * fx + fy * fy);
+                if (length > limit) {
+                    fx *= limit / length;
+                    fy *= limit / length;
+                    length = limit;
+                }
+                nextX[v] = px + fx;
+                nextY[v] = py + fy;
+                largest = Math.max(largest, length);
+            }
+            moved[chunk] = largest;
+        });
+
+        double[] swap = x;
+        x = nextX;
+        nextX = swap;
+        swap = y;
+        y = nextY;
+        nextY = swap;
+        temperature *= COOLING;
+        steps++;
+
+        double largest = 0;
+        for (double m : moved) {
+            largest = Math.max(largest, m);
+        }
+        lastMove = largest;
+        return largest;
+    }
+
+    /**
+     * Copiază pozițiile în tablourile date, rotunjite și translatate astfel
+     * încât colțul din stânga-sus să fie la (margin, margin).
+     */
+    void positions(int[] outX, int[] outY, int margin) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        for (int v = 0; v < n; v++) {
+            minX = Math.min(minX, x[v]);
+            minY = Math.min(minY, y[v]);
+        }
+        for (int v = 0; v < n; v++) {
+            outX[v] = (int) Math.round(x[v] - minX) + margin;
+            outY[v] = (int) Math.round(y[v] - minY) + margin;
+        }
+    }
+
+    void close() {
+        pool.shutdown();
+    }
+
+    private void buildTree() {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int v = 0; v < n; v++) {
+            minX = Math.min(minX, x[v]);
+            maxX = Math.max(maxX, x[v]);
+            minY = Math.min(minY, y[v]);
+            maxY = Math.max(maxY, y[v]);
+        }
+        cells = 0;
+        newCell((minX + maxX) / 2, (minY + maxY) / 2, Math.max(maxX - minX, maxY - minY) / 2 + 1);
+        for (int v = 0; v < n; v++) {
+            insert(v);
+        }
+        // Sumele devin centre de masă
+        for (int c = 0; c < cells; c++) {
+            massX[c] /= mass[c];
+            massY[c] /= mass[c];
+        }
+    }
+
+    private void insert(int v) {
+        double px = x[v], py = y[v];
+        int c = 0;
+        for (int depth = 0; ; depth++) {
+            int b = body[c];
+            if (b == EMPTY && mass[c] == 0) {
+                body[c] = v;
+                addMass(c, px, py);
+                return;
+            }
+            if (b >= 0) {
+                // Noduri practic suprapuse: frunza le cumulează masa
+                if (depth >= MAX_DEPTH) {
+                    addMass(c, px, py);
+                    return;
+                }
+                // Corpul existent coboară într-o celulă copil
+                body[c] = INTERNAL;
+                int q = quadrant(c, x[b], y[b]);
+                int sub = newChild(c, q);
+                body[sub] = b;
+                addMass(sub, x[b], y[b]);
+            }
+            addMass(c, px, py);
+            int q = quadrant(c, px, py);
+            int sub = child[4 * c + q];
+            if (sub < 0) {
+                sub = newChild(c, q);
+                body[sub] = v;
+                addMass(sub, px, py);
+                return;
+            }
+            c = sub;
+        }
+    }
+
+    private int quadrant(int c, double px, double py) {
+        return (px >= cellX[c] ? 1 : 0) | (py >= cellY[c] ? 2 : 0);
+    }
+
+    private int newChild(int c, int q) {
+        double h = cellHalf[c] / 2;
+        int sub = newCell(cellX[c] + ((q & 1) != 0 ? h : -h), cellY[c] + ((q & 2) != 0 ? h : -h), h);
+        child[4 * c + q] = sub;
+        return sub;
+    }
+
+    private int newCell(double cx, double cy, double half) {
+        if (cells == body.length) {
+            int size = cells * 2;
+            child = Arrays.copyOf(child, 4 * size);
+            body = Arrays.copyOf(body, size);
+            cellX = Arrays.copyOf(cellX, size);
+            cellY = Arrays.copyOf(cellY, size);
+            cellHalf = Arrays.copyOf(cellHalf, size);
+            mass = Arrays.copyOf(mass, size);
+            massX = Arrays.copyOf(massX, size);
+            massY = Arrays.copyOf(massY, size);
+        }
+        int c = cells++;
+        Arrays.fill(child, 4 * c, 4 * c + 4, -1);
+        body[c] = EMPTY;
+        cellX[c] = cx;
+        cellY[c] = cy;
+        cellHalf[c] = half;
+        mass[c] = 0;
+        massX[c] = 0;
+        massY[c] = 0;
+        return c;
+    }
+
+    private void addMass(int c, double px, double py) {
+        mass[c] += 1;
+        massX[c] += px;
+        massY[c] += py;
+    }
+}
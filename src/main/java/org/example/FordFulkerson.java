@@ -1,149 +1,620 @@
 package org.example;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 public class FordFulkerson {
     private int vertices;
-    private List<List<EdgeFF>> graph;
-    private Map<Edge, Integer> flows;
 
-    static class EdgeFF {
-        int to;
-        int capacity;
-        int flow;
-        EdgeFF reverse;
+    // Muchiile adăugate prin addEdge, păstrate ca tablouri primitive
+    private int edgeCount;
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private int[] edgeCapacity = new int[16];
+    private int[] edgeCost = new int[16];
+    private int[] edgeInitialFlow = new int[16];
+    private int[] edgeFlow = new int[16];
+    private int[] edgeReverseFlow = new int[16];
 
-        EdgeFF(int to, int capacity, int flow) {
-            this.to = to;
-            this.capacity = capacity;
-            this.flow = flow;
-        }
-    }
+    // Graful rezidual CSR, construit la prima utilizare
+    private ResidualGraph graph;
+
+    private FlowAlgorithm algorithm;
+    private MaxFlowEngine engine;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean capacityScaling;
+    private boolean networkReduction;
+    private ReductionReport reduction;
+    private FlowMonitor monitor = new FlowMonitor();
+
+    // Statisticile ultimului calcul, colectate doar la cerere
+    private boolean statsEnabled;
+    private SolverStats stats;
+
+    // Ultima pereche sursă-destinație rezolvată; fluxul ei rămâne în graf
+    // și este continuat incremental după modificări
+    private int solvedSource = -1;
+    private int solvedSink = -1;
+    private long flowValue;
+    private EdmondsKarp repair;
+
+    // Rezultatul compact al perechii rezolvate, creat la cerere și păstrat până la următoarea modificare
+    private FlowResult result;
 
     public FordFulkerson(int vertices) {
+        this(vertices, FlowAlgorithm.EDMONDS_KARP);
+    }
+
+    public FordFulkerson(int vertices, FlowAlgorithm algorithm) {
         this.vertices = vertices;
-        this.graph = new ArrayList<>();
-        this.flows = new HashMap<>();
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Solver peste tablouri deja citite (de exemplu dintr-o rețea salvată).
+     * Tablourile sunt preluate, nu copiate; lungimea lor trebuie să fie edgeCount.
+     */
+    FordFulkerson(int vertices, int edgeCount, int[] from, int[] to, int[] capacity, int[] cost,
+                  int[] initialFlow, FlowAlgorithm algorithm) {
+        this(vertices, algorithm);
+        this.edgeCount = edgeCount;
+        edgeFrom = from;
+        edgeTo = to;
+        edgeCapacity = capacity;
+        edgeCost = cost;
+        edgeInitialFlow = initialFlow;
+        edgeFlow = initialFlow.clone();
+        edgeReverseFlow = new int[edgeCount];
+    }
+
+    public void setAlgorithm(FlowAlgorithm algorithm) {
+        if (this.algorithm != algorithm) {
+            this.algorithm = algorithm;
+            this.engine = null;
+        }
+    }
+
+    public FlowAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    // Numărul de fire folosit de algoritmii paraleli
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Numărul de fire trebuie să fie pozitiv: " + threads);
+        }
+        if (this.threads != threads) {
+            this.threads = threads;
+            this.engine = null;
+        }
+    }
 
-        for (int i = 0; i < vertices; i++) {
-            graph.add(new ArrayList<>());
+    public int addEdge(int from, int to, int capacity, int initialFlow) {
+        return addEdge(from, to, capacity, initialFlow, 0);
+    }
+
+    /**
+     * Scalarea capacităților pentru EDMONDS_KARP, BIDIRECTIONAL_BFS și DINIC:
+     * drumurile sunt căutate întâi doar pe arcele cu capacitate reziduală mare,
+     * pragul înjumătățindu-se la fiecare fază. Utilă când capacitățile diferă
+     * cu multe ordine de mărime; ceilalți algoritmi o ignoră.
+     */
+    public void setCapacityScaling(boolean enabled) {
+        if (capacityScaling != enabled) {
+            capacityScaling = enabled;
+            engine = null;
         }
     }
 
-    public void addEdge(int from, int to, int capacity, int initialFlow) {
-        EdgeFF forward = new EdgeFF(to, capacity, initialFlow);
-        EdgeFF backward = new EdgeFF(from, 0, 0);
+    public boolean isCapacityScaling() {
+        return capacityScaling;
+    }
 
-        forward.reverse = backward;
-        backward.reverse = forward;
+    /**
+     * Reduce rețeaua înaintea fiecărui calcul pornit de la zero (vezi
+     * NetworkReduction): nodurile de pe care nu trece niciun drum s-t sunt
+     * eliminate, lanțurile contractate și arcele paralele comasate. Fluxul
+     * găsit pe rețeaua redusă este distribuit înapoi pe muchiile originale,
+     * deci rezultatul și tăietura sunt cele obișnuite. Nu se aplică pentru
+     * MIN_COST și nici când muchiile au fluxuri inițiale.
+     */
+    public void setNetworkReduction(boolean enabled) {
+        networkReduction = enabled;
+    }
+
+    public boolean isNetworkReduction() {
+        return networkReduction;
+    }
 
-        graph.get(from).add(forward);
-        graph.get(to).add(backward);
+    // Raportul reducerii din ultimul getMaxFlow, sau null dacă rețeaua nu a fost redusă
+    public ReductionReport getLastReduction() {
+        return reduction;
     }
 
-    public int getMaxFlow(int source, int sink) {
-        int maxFlow = 0;
+    // Progresul și anularea calculelor următoare (getMaxFlow)
+    public void setMonitor(FlowMonitor monitor) {
+        this.monitor = monitor != null ? monitor : new FlowMonitor();
+    }
 
-        while (true) {
-            // BFS pentru a găsi un drum de augmentare
-            int[] parent = new int[vertices];
-            EdgeFF[] parentEdge = new EdgeFF[vertices];
-            Arrays.fill(parent, -1);
+    /**
+     * Activează colectarea statisticilor (contoare, durate, memorie) pentru
+     * calculele următoare. Fiecare calcul le publică și prin JMX.
+     */
+    public void setStatsEnabled(boolean enabled) {
+        statsEnabled = enabled;
+        if (!enabled) {
+            stats = null;
+        }
+    }
 
-            Queue<Integer> queue = new LinkedList<>();
-            queue.offer(source);
-            parent[source] = source;
+    // Statisticile ultimului getMaxFlow (completate de getResult/getMinCut/getFlows), sau null
+    public SolverStats getLastStats() {
+        return stats;
+    }
 
-            while (!queue.isEmpty() && parent[sink] == -1) {
-                int u = queue.poll();
+    // Returnează id-ul muchiei (în ordinea adăugării), folosit de setCapacity
+    public int addEdge(int from, int to, int capacity, int initialFlow, int cost) {
+        if (from < 0 || from >= vertices || to < 0 || to >= vertices) {
+            throw new IndexOutOfBoundsException("Arc invalid: " + from + " -> " + to);
+        }
 
-                for (EdgeFF edge : graph.get(u)) {
-                    if (parent[edge.to] == -1 && edge.capacity > edge.flow) {
-                        parent[edge.to] = u;
-                        parentEdge[edge.to] = edge;
-                        queue.offer(edge.to);
-                    }
-                }
-            }
+        // Graful a fost deja construit: păstrăm fluxurile calculate până acum
+        invalidateGraph();
 
-            // Dacă nu există drum de augmentare, returnăm fluxul maxim
-            if (parent[sink] == -1) {
-                break;
-            }
+        if (edgeCount == edgeFrom.length) {
+            int size = Math.max(16, edgeCount * 2);
+            edgeFrom = Arrays.copyOf(edgeFrom, size);
+            edgeTo = Arrays.copyOf(edgeTo, size);
+            edgeCapacity = Arrays.copyOf(edgeCapacity, size);
+            edgeCost = Arrays.copyOf(edgeCost, size);
+            edgeInitialFlow = Arrays.copyOf(edgeInitialFlow, size);
+            edgeFlow = Arrays.copyOf(edgeFlow, size);
+            edgeReverseFlow = Arrays.copyOf(edgeReverseFlow, size);
+        }
 
-            // Găsim capacitatea reziduală minimă de-a lungul drumului
-            int pathFlow = Integer.MAX_VALUE;
-            for (int v = sink; v != source; v = parent[v]) {
-                EdgeFF edge = parentEdge[v];
-                pathFlow = Math.min(pathFlow, edge.capacity - edge.flow);
-            }
+        edgeFrom[edgeCount] = from;
+        edgeTo[edgeCount] = to;
+        edgeCapacity[edgeCount] = capacity;
+        edgeCost[edgeCount] = cost;
+        edgeInitialFlow[edgeCount] = initialFlow;
+        edgeFlow[edgeCount] = initialFlow;
+        edgeReverseFlow[edgeCount] = 0;
+        return edgeCount++;
+    }
+
+    // Adaugă un nod izolat; returnează indexul lui
+    public int addVertex() {
+        invalidateGraph();
+        engine = null;
+        return vertices++;
+    }
+
+    public int getVertexCount() {
+        return vertices;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getEdgeFrom(int edge) {
+        return edgeFrom[edge];
+    }
+
+    public int getEdgeTo(int edge) {
+        return edgeTo[edge];
+    }
+
+    public int getEdgeCapacity(int edge) {
+        return edgeCapacity[edge];
+    }
+
+    public int getEdgeCost(int edge) {
+        return edgeCost[edge];
+    }
+
+    // Fluxul curent pe muchie, citit direct din graful rezidual
+    public int getEdgeFlow(int edge) {
+        return graph != null ? graph.flow[graph.edgeArc[edge]] : edgeFlow[edge];
+    }
+
+    // Prealocă spațiu pentru muchii când numărul lor este cunoscut dinainte
+    public void reserveEdges(int count) {
+        if (count > edgeFrom.length) {
+            edgeFrom = Arrays.copyOf(edgeFrom, count);
+            edgeTo = Arrays.copyOf(edgeTo, count);
+            edgeCapacity = Arrays.copyOf(edgeCapacity, count);
+            edgeCost = Arrays.copyOf(edgeCost, count);
+            edgeInitialFlow = Arrays.copyOf(edgeInitialFlow, count);
+            edgeFlow = Arrays.copyOf(edgeFlow, count);
+            edgeReverseFlow = Arrays.copyOf(edgeReverseFlow, count);
+        }
+    }
+
+    /**
+     * Schimbă capacitatea unei muchii fără a pierde fluxul calculat.
+     * La creștere, următorul getMaxFlow caută doar drumurile noi de augmentare.
+     * La scădere sub fluxul curent, excesul este redirecționat local spre
+     * capătul arcului, iar ce nu încape este întors la sursă și retras de la
+     * destinație.
+     */
+    public void setCapacity(int edge, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacitate negativă: " + capacity);
+        }
+
+        edgeCapacity[edge] = capacity;
+        edgeInitialFlow[edge] = Math.min(edgeInitialFlow[edge], capacity);
+        result = null;
+
+        ResidualGraph g = residual();
+        int arc = g.edgeArc[edge];
+        g.capacity[arc] = capacity;
+
+        int excess = g.flow[arc] - capacity;
+        if (excess <= 0) {
+            return;
+        }
+
+        int u = g.tail(arc);
+        int v = g.head[arc];
+        if (solvedSource < 0) {
+            g.push(arc, -excess);
+            return;
+        }
+
+        if (repair == null) {
+            repair = new EdmondsKarp(vertices);
+        }
+        long before = sourceOutflow(g, solvedSource);
+        g.push(arc, -excess);
 
-            // Actualizăm fluxurile de-a lungul drumului
-            for (int v = sink; v != source; v = parent[v]) {
-                EdgeFF edge = parentEdge[v];
-                edge.flow += pathFlow;
-                edge.reverse.flow -= pathFlow;
+        // Întâi încercăm un ocol u -> v, apoi retragem restul pe drumurile
+        // sursă -> u și v -> destinație
+        long rest = excess - repair.augment(g, u, v, excess, null);
+        if (rest > 0 && u != solvedSource && u != solvedSink) {
+            long back = repair.augment(g, u, solvedSource, rest, null);
+            if (back < rest) {
+                resetToInitialFlows();
+                return;
+            }
+        }
+        if (rest > 0 && v != solvedSink && v != solvedSource) {
+            long back = repair.augment(g, solvedSink, v, rest, null);
+            if (back < rest) {
+                resetToInitialFlows();
+                return;
             }
+        }
+
+        flowValue += sourceOutflow(g, solvedSource) - before;
+    }
+
+    // Costul nu afectează fluxul existent; doar următorul calcul MIN_COST îl folosește
+    public void setCost(int edge, int cost) {
+        edgeCost[edge] = cost;
+        if (graph != null) {
+            int arc = graph.edgeArc[edge];
+            graph.cost[arc] = cost;
+            graph.cost[graph.reverse[arc]] = -cost;
+        }
+    }
 
-            maxFlow += pathFlow;
+    private void invalidateGraph() {
+        if (graph != null) {
+            saveFlows();
+            graph = null;
+            repair = null;
+            result = null;
         }
+    }
 
-        // Salvăm fluxurile finale
-        for (int u = 0; u < vertices; u++) {
-            for (EdgeFF edge : graph.get(u)) {
-                if (edge.capacity > 0 && edge.flow > 0) {
-                    flows.put(new Edge(u, edge.to, edge.capacity, 0, 0), edge.flow);
-                }
+    private void saveFlows() {
+        for (int e = 0; e < edgeCount; e++) {
+            int arc = graph.edgeArc[e];
+            edgeFlow[e] = graph.flow[arc];
+            edgeReverseFlow[e] = graph.flow[graph.reverse[arc]];
+        }
+    }
+
+    // Fluxul net care pleacă din nod, citit din arcele lui (inclusiv cele inverse)
+    private static long sourceOutflow(ResidualGraph g, int source) {
+        long total = 0;
+        for (int a = g.start[source], end = g.start[source + 1]; a < end; a++) {
+            total += g.flow[a];
+        }
+        return total;
+    }
+
+    // Fluxul calculat nu mai poate fi reparat local: pornim din nou de la fluxurile inițiale
+    private void resetToInitialFlows() {
+        for (int e = 0; e < edgeCount; e++) {
+            edgeFlow[e] = edgeInitialFlow[e];
+            edgeReverseFlow[e] = 0;
+        }
+        if (graph != null) {
+            for (int e = 0; e < edgeCount; e++) {
+                int arc = graph.edgeArc[e];
+                graph.flow[arc] = edgeInitialFlow[e];
+                graph.flow[graph.reverse[arc]] = 0;
             }
         }
+        solvedSource = -1;
+        solvedSink = -1;
+        flowValue = 0;
+        result = null;
+    }
 
-        return maxFlow;
+    private ResidualGraph residual() {
+        if (graph == null) {
+            graph = new ResidualGraph(vertices, edgeCount, edgeFrom, edgeTo,
+                    edgeCapacity, edgeCost, edgeFlow, edgeReverseFlow);
+        }
+        return graph;
     }
 
-    public Set<Edge> getMinCut(int source) {
-        Set<Edge> minCut = new HashSet<>();
-        boolean[] reachable = new boolean[vertices];
+    /**
+     * Fluxul maxim de la source la sink. Dacă perechea este aceeași cu cea de la
+     * apelul anterior, fluxul existent este doar completat cu drumurile de
+     * augmentare apărute după modificările făcute între timp. MIN_COST pornește
+     * mereu de la fluxurile inițiale: un flux reparat local nu mai este de cost minim.
+     *
+     * Dacă monitorul este anulat, aruncă CancellationException și revine la
+     * fluxurile inițiale (un preflux parțial nu este un flux valid).
+     */
+    public long getMaxFlow(int source, int sink) {
+        if (source != solvedSource || sink != solvedSink || algorithm == FlowAlgorithm.MIN_COST) {
+            resetToInitialFlows();
+        }
+
+        boolean reduce = networkReduction && solvedSource < 0 && source != sink
+                && algorithm != FlowAlgorithm.MIN_COST && initialFlowsZero();
+        reduction = null;
+
+        stats = statsEnabled ? new SolverStats(algorithm, vertices, 2 * edgeCount) : null;
+        if (stats != null) {
+            SolverStats.resetPeakHeap();
+        }
+
+        long time = System.nanoTime();
+        ResidualGraph g = residual();
+        if (engine == null && !reduce) {
+            engine = algorithm.createEngine(vertices, threads, capacityScaling);
+        }
+        if (stats != null) {
+            stats.buildNanos = System.nanoTime() - time;
+        }
+
+        time = System.nanoTime();
+        monitor.begin(g, flowValue, stats);
+        try {
+            flowValue += reduce ? solveReduced(g, source, sink) : engine.maxFlow(g, source, sink, monitor);
+        } catch (CancellationException ex) {
+            resetToInitialFlows();
+            engine = null;
+            throw ex;
+        } finally {
+            monitor.end();
+        }
+        solvedSource = source;
+        solvedSink = sink;
+        result = null;
+        if (stats != null) {
+            stats.solveNanos = System.nanoTime() - time;
+            stats.maxFlow = flowValue;
+            stats.capturePeakHeap();
+            SolverMetrics.publish(stats);
+        }
+        return flowValue;
+    }
+
+    private boolean initialFlowsZero() {
+        for (int e = 0; e < edgeCount; e++) {
+            if (edgeInitialFlow[e] != 0) return false;
+        }
+        return true;
+    }
+
+    // Calculul pe rețeaua redusă; fluxul rezultat este scris înapoi în g
+    private long solveReduced(ResidualGraph g, int source, int sink) {
+        NetworkReduction r = NetworkReduction.reduce(vertices, edgeCount, edgeFrom, edgeTo, edgeCapacity, source, sink);
+        reduction = r.report;
+        if (r.reducedEdges == 0) {
+            return 0;
+        }
+
+        int[] zero = new int[r.reducedEdges];
+        ResidualGraph reduced = new ResidualGraph(r.reducedVertices, r.reducedEdges, r.from, r.to,
+                r.capacity, zero, zero, zero);
+        int[] reducedFlow = new int[r.reducedEdges];
+        int[] mapped = new int[edgeCount];
+
+        // Algoritmul rulează pe rețeaua redusă; instantaneele de progres sunt luate din g,
+        // după ce fluxul redus este distribuit pe muchiile originale
+        monitor.syncSnapshots(() -> mapReducedFlows(r, reduced, g, reducedFlow, mapped));
+        long value = algorithm.createEngine(r.reducedVertices, threads, capacityScaling)
+                .maxFlow(reduced, r.source, r.sink, monitor);
+
+        mapReducedFlows(r, reduced, g, reducedFlow, mapped);
+        return value;
+    }
+
+    private void mapReducedFlows(NetworkReduction r, ResidualGraph reduced, ResidualGraph g,
+                                 int[] reducedFlow, int[] mapped) {
+        for (int i = 0; i < r.reducedEdges; i++) {
+            reducedFlow[i] = reduced.flow[reduced.edgeArc[i]];
+        }
+        r.mapFlows(reducedFlow, mapped);
+        for (int e = 0; e < edgeCount; e++) {
+            int arc = g.edgeArc[e];
+            g.flow[arc] = mapped[e];
+            g.flow[g.reverse[arc]] = -mapped[e];
+        }
+    }
+
+    /**
+     * Rezultatul ultimului getMaxFlow: fluxurile după id-ul muchiei, partea
+     * sursei și muchiile tăieturii minime. Obiectul nu mai depinde de solver,
+     * deci poate fi dat mai departe (de exemplu panoului) fără copii.
+     */
+    public FlowResult getResult() {
+        if (solvedSource < 0) {
+            throw new IllegalStateException("Fluxul maxim nu a fost calculat");
+        }
+        if (result == null) {
+            result = buildResult(solvedSource, solvedSink);
+        }
+        return result;
+    }
+
+    private FlowResult buildResult(int source, int sink) {
+        long time = System.nanoTime();
+        ResidualGraph g = residual();
+        BitSet side = sourceSide(g, source);
+        int[] cut = cutEdges(side);
+        recordMinCut(time);
+
+        time = System.nanoTime();
+        FlowResult built = new FlowResult(g, source, sink, flowValue, side, cut);
+        if (stats != null) {
+            stats.flowNanos += System.nanoTime() - time;
+        }
+        return built;
+    }
 
-        // BFS pentru a găsi nodurile accesibile din sursa în graful rezidual
-        Queue<Integer> queue = new LinkedList<>();
-        queue.offer(source);
-        reachable[source] = true;
+    // Vedere read-only a tăieturii minime; pentru sursa rezolvată nu se recalculează nimic
+    public Set<Edge> getMinCut(int source) {
+        if (source == solvedSource) {
+            return getResult().asMinCutSet();
+        }
+        return buildResult(source, -1).asMinCutSet();
+    }
 
-        while (!queue.isEmpty()) {
-            int u = queue.poll();
+    // Id-urile muchiilor din tăietura minimă, în ordinea adăugării
+    public int[] getMinCutEdges(int source) {
+        if (source == solvedSource) {
+            return getResult().getCutEdges();
+        }
+        long time = System.nanoTime();
+        int[] cut = cutEdges(sourceSide(residual(), source));
+        recordMinCut(time);
+        return cut;
+    }
 
-            for (EdgeFF edge : graph.get(u)) {
-                if (!reachable[edge.to] && edge.capacity > edge.flow) {
-                    reachable[edge.to] = true;
-                    queue.offer(edge.to);
+    // Tăietura minimă constă din muchiile care merg din partea accesibilă în partea neaccesibilă
+    private int[] cutEdges(BitSet side) {
+        int count = 0;
+        int[] cut = new int[16];
+        for (int e = 0; e < edgeCount; e++) {
+            if (side.get(edgeFrom[e]) && !side.get(edgeTo[e]) && edgeCapacity[e] > 0) {
+                if (count == cut.length) {
+                    cut = Arrays.copyOf(cut, count * 2);
                 }
+                cut[count++] = e;
             }
         }
+        return Arrays.copyOf(cut, count);
+    }
 
-        // Tăietura minimă constă din arcele care merg din partea accesibilă
-        // în partea neaccesibilă
-        for (int u = 0; u < vertices; u++) {
-            if (reachable[u]) {
-                for (EdgeFF edge : graph.get(u)) {
-                    if (!reachable[edge.to] && edge.capacity > 0) {
-                        minCut.add(new Edge(u, edge.to, edge.capacity, 0, 0));
-                    }
-                }
+    private void recordMinCut(long startNanos) {
+        if (stats != null) {
+            stats.minCutNanos += System.nanoTime() - startNanos;
+            stats.capturePeakHeap();
+        }
+    }
+
+    // Partea sursei din tăietura minimă: nodurile accesibile în graful rezidual
+    public BitSet getSourceSide(int source) {
+        return sourceSide(residual(), source);
+    }
+
+    /**
+     * Solver pentru multe perechi sursă-destinație pe rețeaua curentă, cu
+     * algoritmul, numărul de fire și scalarea setate aici. Topologia și
+     * capacitățile sunt copiate o dată; modificările ulterioare ale acestui
+     * obiect nu îl afectează.
+     */
+    public BatchMaxFlow batch() {
+        int[] zero = new int[edgeCount];
+        ResidualGraph topology = new ResidualGraph(vertices, edgeCount, edgeFrom, edgeTo,
+                edgeCapacity, edgeCost, zero, zero);
+        return new BatchMaxFlow(topology, algorithm, threads, capacityScaling);
+    }
+
+    /**
+     * Rețeaua ca NetworkSnapshot, cu soluția perechii rezolvate dacă există.
+     * Tablourile muchiilor nu sunt copiate; obiectul este doar pentru scriere imediată.
+     */
+    NetworkSnapshot snapshot(int[] x, int[] y) {
+        if (solvedSource < 0) {
+            return new NetworkSnapshot(vertices, edgeCount, x, y, edgeFrom, edgeTo, edgeCapacity, edgeCost,
+                    edgeInitialFlow, -1, -1, 0, null, null);
+        }
+        FlowResult solved = getResult();
+        int[] flows = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            flows[e] = solved.getFlow(e);
+        }
+        return new NetworkSnapshot(vertices, edgeCount, x, y, edgeFrom, edgeTo, edgeCapacity, edgeCost,
+                edgeInitialFlow, solvedSource, solvedSink, flowValue, flows, solved.getSourceSide());
+    }
+
+    /**
+     * Reia o soluție salvată: fluxurile devin fluxul curent al perechii
+     * (source, sink), ca după getMaxFlow, iar partea sursei dă direct tăietura.
+     * Un apel ulterior getMaxFlow(source, sink) doar completează fluxul.
+     */
+    void restoreSolution(int source, int sink, long maxFlow, int[] flows, BitSet sourceSide) {
+        resetToInitialFlows();
+        // Ca după augmentare: arcul invers reține doar fluxul adăugat peste cel inițial
+        for (int e = 0; e < edgeCount; e++) {
+            edgeFlow[e] = flows[e];
+            edgeReverseFlow[e] = edgeInitialFlow[e] - flows[e];
+        }
+        if (graph != null) {
+            for (int e = 0; e < edgeCount; e++) {
+                int arc = graph.edgeArc[e];
+                graph.flow[arc] = edgeFlow[e];
+                graph.flow[graph.reverse[arc]] = edgeReverseFlow[e];
             }
         }
+        solvedSource = source;
+        solvedSink = sink;
+        flowValue = maxFlow;
+        if (sourceSide != null) {
+            result = new FlowResult(residual(), source, sink, maxFlow, sourceSide, cutEdges(sourceSide));
+        }
+    }
 
-        return minCut;
+    // Renunță la fluxul calculat și revine la fluxurile inițiale ale muchiilor
+    public void resetFlows() {
+        resetToInitialFlows();
     }
 
-    public int getMinCutCapacity(Set<Edge> minCut) {
-        int capacity = 0;
+    // BFS pentru a găsi nodurile accesibile din sursa în graful rezidual
+    private BitSet sourceSide(ResidualGraph g, int source) {
+        return g.reachable(source, new int[vertices]);
+    }
+
+    public long getMinCutCapacity(Set<Edge> minCut) {
+        long capacity = 0;
         for (Edge edge : minCut) {
             capacity += edge.capacity;
         }
         return capacity;
     }
 
+    // Costul total al fluxului curent: suma flux × cost pe toate muchiile
+    public long getTotalCost() {
+        long total = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            total += (long) getEdgeFlow(e) * edgeCost[e];
+        }
+        return total;
+    }
+
+    // Vedere read-only a fluxurilor pozitive ale ultimului calcul; goală dacă nu s-a calculat nimic
     public Map<Edge, Integer> getFlows() {
-        return new HashMap<>(flows);
+        return solvedSource < 0 ? Collections.emptyMap() : getResult().asFlowMap();
     }
-}
\ No newline at end of file
+}
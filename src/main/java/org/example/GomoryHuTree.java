@@ -0,0 +1,246 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Arborele Gomory-Hu (varianta Gusfield) pentru tăieturi minime între toate
+ * perechile de noduri, construit cu doar V - 1 calcule de flux maxim.
+ *
+ * Tăieturile Gomory-Hu există doar pentru grafuri neorientate, deci fiecare
+ * arc u -> v de capacitate c este tratat ca muchie neorientată (c în ambele
+ * sensuri). Arborele are rădăcina 0: nodul s are părintele parent[s], iar
+ * muchia (s, parent[s]) are greutatea weight[s].
+ *
+ * Calculele de flux rulează în paralel, speculativ: pentru un lot de noduri
+ * s se calculează tăietura față de parent[s] curent; rezultatele se aplică în
+ * ordine, iar unul al cărui părinte a fost schimbat între timp de un rezultat
+ * anterior este recalculat. Arborele obținut este identic cu cel secvențial.
+ */
+public class GomoryHuTree {
+    private final int vertices;
+    private final int[] parent;
+    private final long[] weight;
+    private final int[] depth;
+
+    // Copiii fiecărui nod în format CSR, pentru extragerea subarborilor
+    private final int[] childStart;
+    private final int[] children;
+
+    private GomoryHuTree(int vertices, int[] parent, long[] weight) {
+        this.vertices = vertices;
+        this.parent = parent;
+        this.weight = weight;
+        this.depth = new int[vertices];
+
+        // Adâncimile se calculează urcând spre rădăcină, cu memorare
+        boolean[] known = new boolean[vertices];
+        known[0] = true;
+        int[] stack = new int[vertices];
+        for (int v = 1; v < vertices; v++) {
+            int size = 0;
+            int u = v;
+            while (!known[u]) {
+                stack[size++] = u;
+                u = parent[u];
+            }
+            while (size > 0) {
+                int w = stack[--size];
+                depth[w] = depth[parent[w]] + 1;
+                known[w] = true;
+            }
+        }
+
+        childStart = new int[vertices + 1];
+        children = new int[Math.max(0, vertices - 1)];
+        for (int v = 1; v < vertices; v++) {
+            childStart[parent[v] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            childStart[v + 1] += childStart[v];
+        }
+        int[] next = new int[vertices];
+        System.arraycopy(childStart, 0, next, 0, vertices);
+        for (int v = 1; v < vertices; v++) {
+            children[next[parent[v]]++] = v;
+        }
+    }
+
+    public static GomoryHuTree build(int vertices, List<Edge> edges, FlowAlgorithm algorithm, int threads) {
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] capacity = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            from[i] = edge.from;
+            to[i] = edge.to;
+            capacity[i] = edge.capacity;
+        }
+        return build(vertices, edges.size(), from, to, capacity, algorithm, threads);
+    }
+
+    public static GomoryHuTree build(int vertices, int edgeCount, int[] from, int[] to, int[] capacity,
+                                     FlowAlgorithm algorithm, int threads) {
+        int[] parent = new int[vertices];
+        long[] weight = new long[vertices];
+        if (vertices < 2) {
+            return new GomoryHuTree(vertices, parent, weight);
+        }
+
+        // Fiecare fir are propria copie a grafului, refolosită între calcule
+        ThreadLocal<FordFulkerson> solvers = ThreadLocal.withInitial(() -> {
+            FordFulkerson ff = new FordFulkerson(vertices, algorithm);
+            ff.setThreads(1);
+            ff.reserveEdges(2 * edgeCount);
+            for (int e = 0; e < edgeCount; e++) {
+                ff.addEdge(from[e], to[e], capacity[e], 0);
+                ff.addEdge(to[e], from[e], capacity[e], 0);
+            }
+            return ff;
+        });
+
+        int workers = Math.max(1, Math.min(threads, vertices - 1));
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            int next = 1;
+            while (next < vertices) {
+                int batch = Math.min(workers, vertices - next);
+                List<Callable<Cut>> tasks = new ArrayList<>(batch);
+                for (int s = next; s < next + batch; s++) {
+                    int source = s;
+                    int sink = parent[s];
+                    tasks.add(() -> {
+                        FordFulkerson ff = solvers.get();
+                        ff.resetFlows();
+                        long value = ff.getMaxFlow(source, sink);
+                        return new Cut(source, sink, value, ff.getSourceSide(source));
+                    });
+                }
+
+                // Aplicăm rezultatele în ordine până la primul devenit invalid
+                for (Future<Cut> future : pool.invokeAll(tasks)) {
+                    Cut cut = future.get();
+                    if (parent[cut.source] != cut.sink) {
+                        break;
+                    }
+                    apply(cut, parent, weight, vertices);
+                    next = cut.source + 1;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Construcție întreruptă", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        return new GomoryHuTree(vertices, parent, weight);
+    }
+
+    // Pasul lui Gusfield pentru tăietura (s, t) cu partea X a lui s
+    private static void apply(Cut cut, int[] parent, long[] weight, int vertices) {
+        int s = cut.source;
+        int t = cut.sink;
+        BitSet side = cut.side;
+
+        weight[s] = cut.value;
+        for (int i = 0; i < vertices; i++) {
+            if (i != s && side.get(i) && parent[i] == t) {
+                parent[i] = s;
+            }
+        }
+        if (side.get(parent[t])) {
+            parent[s] = parent[t];
+            parent[t] = s;
+            weight[s] = weight[t];
+            weight[t] = cut.value;
+        }
+    }
+
+    public int getVertexCount() {
+        return vertices;
+    }
+
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    public long getWeight(int v) {
+        return weight[v];
+    }
+
+    // Valoarea tăieturii minime u-v: muchia de greutate minimă pe drumul din arbore
+    public long minCutValue(int u, int v) {
+        if (u == v) {
+            throw new IllegalArgumentException("Nodurile trebuie să fie diferite");
+        }
+        return weight[minEdge(u, v)];
+    }
+
+    /**
+     * Tăietura minimă u-v: nodurile din partea lui u. Se obține eliminând din
+     * arbore muchia minimă de pe drumul u-v; o parte este subarborele ei.
+     */
+    public BitSet minCut(int u, int v) {
+        int x = minEdge(u, v);
+
+        // Subarborele lui x, parcurs în lățime pe lista de copii
+        BitSet subtree = new BitSet(vertices);
+        int[] queue = new int[vertices];
+        int qHead = 0, qTail = 0;
+        queue[qTail++] = x;
+        while (qHead < qTail) {
+            int w = queue[qHead++];
+            subtree.set(w);
+            for (int i = childStart[w]; i < childStart[w + 1]; i++) {
+                queue[qTail++] = children[i];
+            }
+        }
+
+        if (!subtree.get(u)) {
+            subtree.flip(0, vertices);
+        }
+        return subtree;
+    }
+
+    // Nodul x a cărui muchie (x, parent[x]) are greutatea minimă pe drumul u-v
+    private int minEdge(int u, int v) {
+        int best = -1;
+        while (u != v) {
+            int x;
+            if (depth[u] >= depth[v]) {
+                x = u;
+                u = parent[u];
+            } else {
+                x = v;
+                v = parent[v];
+            }
+            if (best == -1 || weight[x] < weight[best]) {
+                best = x;
+            }
+        }
+        return best;
+    }
+
+    private static final class Cut {
+        final int source;
+        final int sink;
+        final long value;
+        final BitSet side;
+
+        Cut(int source, int sink, long value, BitSet side) {
+            this.source = source;
+            this.sink = sink;
+            this.value = value;
+            this.side = side;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Rețeaua editată în NetworkPanel: noduri cu id-uri dense 0..n-1, liste de
+ * arce de ieșire și de intrare pentru fiecare nod și un index primitiv
+ * (from, to) -> arc, deci verificarea unui arc duplicat nu parcurge lista.
+ *
+ * Arcele au id-uri stabile (sloturi). Ștergerea lasă un slot gol, iar
+ * compact() renumerotează arcele rămase în ordinea adăugării; cât timp nu
+ * există sloturi goale, id-ul unui arc este chiar id-ul lui din FordFulkerson.
+ * La ștergerea unui nod, ultimul nod îi preia id-ul, astfel încât sunt
+ * actualizate doar arcele nodului șters și ale celui mutat.
+ */
+class GraphModel {
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<List<Edge>> out = new ArrayList<>();
+    private final List<List<Edge>> in = new ArrayList<>();
+    private final PairIndex pairs = new PairIndex();
+
+    private Edge[] slots = new Edge[16];
+    private int slotCount;
+    private int edgeCount;
+
+    int nodeCount() {
+        return nodes.size();
+    }
+
+    Node node(int id) {
+        return nodes.get(id);
+    }
+
+    List<Node> nodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    boolean hasGaps() {
+        return slotCount != edgeCount;
+    }
+
+    List<Edge> outEdges(int node) {
+        return Collections.unmodifiableList(out.get(node));
+    }
+
+    List<Edge> inEdges(int node) {
+        return Collections.unmodifiableList(in.get(node));
+    }
+
+    // Arcele existente, în ordinea id-urilor
+    Iterable<Edge> edges() {
+        return () -> new Iterator<Edge>() {
+            private int next = skip(0);
+
+            private int skip(int slot) {
+                while (slot < slotCount && slots[slot] == null) slot++;
+                return slot;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < slotCount;
+            }
+
+            @Override
+            public Edge next() {
+                if (next >= slotCount) throw new NoSuchElementException();
+                Edge edge = slots[next];
+                next = skip(next + 1);
+                return edge;
+            }
+        };
+    }
+
+    Node addNode(int x, int y) {
+        Node node = new Node(nodes.size(), x, y);
+        nodes.add(node);
+        out.add(new ArrayList<>(2));
+        in.add(new ArrayList<>(2));
+        return node;
+    }
+
+    Edge findEdge(int from, int to) {
+        int slot = pairs.get(PairIndex.key(from, to));
+        return slot < 0 ? null : slots[slot];
+    }
+
+    Edge addEdge(int from, int to, int capacity, int flow, int cost) {
+        long key = PairIndex.key(from, to);
+        if (pairs.get(key) >= 0) {
+            throw new IllegalArgumentException("Arcul " + from + " → " + to + " există deja");
+        }
+
+        Edge edge = new Edge(from, to, capacity, flow, cost);
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slotCount * 2);
+        }
+        edge.id = slotCount;
+        slots[slotCount++] = edge;
+        edgeCount++;
+        pairs.put(key, edge.id);
+
+        List<Edge> outList = out.get(from), inList = in.get(to);
+        edge.outPos = outList.size();
+        outList.add(edge);
+        edge.inPos = inList.size();
+        inList.add(edge);
+        return edge;
+    }
+
+    void removeEdge(Edge edge) {
+        pairs.remove(PairIndex.key(edge.from, edge.to));
+
+        // Ultimul arc din fiecare listă ia locul celui scos
+        List<Edge> outList = out.get(edge.from);
+        Edge last = outList.remove(outList.size() - 1);
+        if (last != edge) {
+            outList.set(edge.outPos, last);
+            last.outPos = edge.outPos;
+        }
+        List<Edge> inList = in.get(edge.to);
+        last = inList.remove(inList.size() - 1);
+        if (last != edge) {
+            inList.set(edge.inPos, last);
+            last.inPos = edge.inPos;
+        }
+
+        slots[edge.id] = null;
+        edge.id = -1;
+        edgeCount--;
+    }
+
+    /**
+     * Șterge nodul și arcele lui. Ultimul nod preia id-ul celui șters;
+     * întoarce vechiul id al nodului mutat, sau -1 dacă nu s-a mutat niciunul.
+     */
+    int removeNode(Node node) {
+        int id = node.id;
+        List<Edge> outList = out.get(id), inList = in.get(id);
+        while (!outList.isEmpty()) removeEdge(outList.get(outList.size() - 1));
+        while (!inList.isEmpty()) removeEdge(inList.get(inList.size() - 1));
+
+        int last = nodes.size() - 1;
+        int moved = -1;
+        if (id != last) {
+            for (Edge edge : out.get(last)) {
+                pairs.remove(PairIndex.key(last, edge.to));
+                edge.from = id;
+                pairs.put(PairIndex.key(id, edge.to), edge.id);
+            }
+            for (Edge edge : in.get(last)) {
+                pairs.remove(PairIndex.key(edge.from, last));
+                edge.to = id;
+                pairs.put(PairIndex.key(edge.from, id), edge.id);
+            }
+            Node movedNode = nodes.get(last);
+            movedNode.id = id;
+            nodes.set(id, movedNode);
+            out.set(id, out.get(last));
+            in.set(id, in.get(last));
+            moved = last;
+        }
+        nodes.remove(last);
+        out.remove(last);
+        in.remove(last);
+
+        // Sloturile goale sunt refolosite doar după ce depășesc arcele existente
+        if (slotCount - edgeCount > Math.max(1024, edgeCount)) {
+            compact();
+        }
+        return moved;
+    }
+
+    // Renumerotează arcele 0..edgeCount-1, păstrând ordinea adăugării
+    void compact() {
+        if (!hasGaps()) {
+            return;
+        }
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            Edge edge = slots[slot];
+            if (edge == null) continue;
+            if (slot != next) {
+                slots[next] = edge;
+                edge.id = next;
+                pairs.put(PairIndex.key(edge.from, edge.to), next);
+            }
+            next++;
+        }
+        Arrays.fill(slots, next, slotCount, null);
+        slotCount = next;
+    }
+
+    void clear() {
+        nodes.clear();
+        out.clear();
+        in.clear();
+        pairs.clear();
+        Arrays.fill(slots, 0, slotCount, null);
+        slotCount = 0;
+        edgeCount = 0;
+    }
+
+    /** Tabel long -> int cu adresare deschisă și ștergere prin deplasare înapoi. */
+    private static final class PairIndex {
+        private long[] keys = new long[32];
+        private int[] values = newValues(32);
+        private int size;
+
+        static long key(int from, int to) {
+            return ((long) from << 32) | (to & 0xFFFFFFFFL);
+        }
+
+        private static int[] newValues(int length) {
+            int[] values = new int[length];
+            Arrays.fill(values, -1);
+            return values;
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); values[i] >= 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (values[i] >= 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] < 0) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+            if (2 * size > keys.length) {
+                rehash(keys.length * 2);
+            }
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (values[i] >= 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] < 0) {
+                return;
+            }
+            size--;
+
+            // Mută înapoi elementele care ar fi devenit inaccesibile după gol
+            int hole = i;
+            for (int j = (hole + 1) & mask; values[j] >= 0; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            values[hole] = -1;
+        }
+
+        void clear() {
+            keys = new long[32];
+            values = newValues(32);
+            size = 0;
+        }
+
+        private void rehash(int length) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[length];
+            values = newValues(length);
+            int mask = length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] < 0) continue;
+                int i = slot(oldKeys[j], mask);
+                while (values[i] >= 0) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.example;
+
+import java.util.BitSet;
+
+/**
+ * Rețea grilă 2D (4 vecini) sau 3D (6 vecini) cu legături terminale de la
+ * sursă și spre destinație pentru fiecare pixel, ca la segmentarea imaginilor.
+ * Fluxul maxim se calculează cu Boykov-Kolmogorov.
+ *
+ * Nu există obiecte sau liste de arce: capătul și arcul pereche se calculează
+ * din index, iar capacitățile reziduale stau într-un singur int[]. Pixelul are
+ * 8 sloturi (vecinii, apoi arcul spre sursă și cel spre destinație); sursa și
+ * destinația au câte un arc spre fiecare pixel. Grila este bordată cu un rând
+ * de noduri fără capacități, deci vecinii nu necesită verificări de margine.
+ * Un megapixel ocupă aproximativ 60 MB.
+ *
+ * Capacitățile se setează înainte de maxFlow; după calcul tabloul conține
+ * capacitățile reziduale, iar grila nu mai poate fi modificată.
+ */
+public final class GridGraph {
+    public static final int RIGHT = 0, LEFT = 1, DOWN = 2, UP = 3, BACK = 4, FRONT = 5;
+    private static final int[] OPPOSITE = {LEFT, RIGHT, UP, DOWN, FRONT, BACK};
+
+    private final int width, height, depth;
+    private final int directions;
+    private final int paddedWidth, paddedArea;
+
+    // Nodurile grilei bordate, apoi sursa și destinația
+    private final int nodes;
+    private final int source, sink;
+    private final int[] offset;
+
+    // Arcele pixelului v: v * 8 + dir; sursa -> v: sourceArcs + v; destinația -> v: sinkArcs + v
+    private final int sourceArcs, sinkArcs;
+    private final int[] residual;
+
+    private long maxFlow = -1;
+    private Solver solver;
+
+    public GridGraph(int width, int height) {
+        this(width, height, 1);
+    }
+
+    public GridGraph(int width, int height, int depth) {
+        if (width < 1 || height < 1 || depth < 1) {
+            throw new IllegalArgumentException("Dimensiuni invalide: " + width + " x " + height + " x " + depth);
+        }
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.directions = depth == 1 ? 4 : 6;
+        this.paddedWidth = width + 2;
+        this.paddedArea = paddedWidth * (height + 2);
+
+        long grid = (long) paddedArea * (depth == 1 ? 1 : depth + 2);
+        long arcs = grid * 10;
+        if (arcs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grilă prea mare: " + width + " x " + height + " x " + depth);
+        }
+        int gridNodes = (int) grid;
+        nodes = gridNodes + 2;
+        source = gridNodes;
+        sink = gridNodes + 1;
+        offset = new int[]{1, -1, paddedWidth, -paddedWidth, paddedArea, -paddedArea};
+        sourceArcs = gridNodes * 8;
+        sinkArcs = sourceArcs + gridNodes;
+        residual = new int[(int) arcs];
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getDepth() { return depth; }
+
+    public int getPixelCount() {
+        return width * height * depth;
+    }
+
+    public int pixel(int x, int y) {
+        return pixel(x, y, 0);
+    }
+
+    public int pixel(int x, int y, int z) {
+        if (x < 0 || x >= width || y < 0 || y >= height || z < 0 || z >= depth) {
+            throw new IndexOutOfBoundsException("Pixel în afara grilei: " + x + ", " + y + ", " + z);
+        }
+        return (z * height + y) * width + x;
+    }
+
+    // Nodul din grila bordată al pixelului
+    private int node(int pixel) {
+        int x = pixel % width;
+        int y = pixel / width % height;
+        int z = pixel / width / height;
+        return (depth == 1 ? 0 : (z + 1) * paddedArea) + (y + 1) * paddedWidth + x + 1;
+    }
+
+    /**
+     * Capacitățile legăturilor terminale ale pixelului: sursă -> pixel și
+     * pixel -> destinație. Partea comună este trimisă direct la calcul.
+     */
+    public void setTerminal(int pixel, int sourceCapacity, int sinkCapacity) {
+        checkModifiable();
+        if (sourceCapacity < 0 || sinkCapacity < 0) {
+            throw new IllegalArgumentException("Capacitate negativă");
+        }
+        int v = node(pixel);
+        residual[sourceArcs + v] = sourceCapacity;
+        residual[v * 8 + directions + 1] = sinkCapacity;
+    }
+
+    // Capacitatea arcului de la pixel spre vecinul din direcția dată
+    public void setNeighbor(int pixel, int direction, int capacity) {
+        checkModifiable();
+        if (direction < 0 || direction >= directions) {
+            throw new IllegalArgumentException("Direcție invalidă: " + direction);
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacitate negativă: " + capacity);
+        }
+        int v = node(pixel);
+        if (isBorder(v + offset[direction])) {
+            throw new IndexOutOfBoundsException("Vecin în afara grilei: pixel " + pixel + ", direcția " + direction);
+        }
+        residual[v * 8 + direction] = capacity;
+    }
+
+    private boolean isBorder(int v) {
+        int x = v % paddedWidth;
+        int y = v / paddedWidth % (height + 2);
+        int z = v / paddedArea;
+        return x == 0 || x == paddedWidth - 1 || y == 0 || y == height + 1
+                || depth > 1 && (z == 0 || z == depth + 1);
+    }
+
+    private void checkModifiable() {
+        if (maxFlow >= 0) {
+            throw new IllegalStateException("Grila a fost deja rezolvată");
+        }
+    }
+
+    public long maxFlow() {
+        return maxFlow(new FlowMonitor());
+    }
+
+    /** Fluxul maxim de la sursă la destinație; calculat o singură dată. */
+    public long maxFlow(FlowMonitor monitor) {
+        if (maxFlow >= 0) {
+            return maxFlow;
+        }
+
+        // Drumurile sursă -> pixel -> destinație nu au nevoie de căutare
+        long total = 0;
+        for (int v = 0; v < source; v++) {
+            int in = sourceArcs + v, out = v * 8 + directions + 1;
+            int f = Math.min(residual[in], residual[out]);
+            if (f > 0) {
+                residual[in] -= f;
+                residual[out] -= f;
+                residual[v * 8 + directions] += f;
+                residual[sinkArcs + v] += f;
+                total += f;
+            }
+        }
+
+        solver = new Solver();
+        monitor.begin(null, total, null);
+        try {
+            maxFlow = solver.solve(source, sink, total, monitor);
+        } finally {
+            monitor.end();
+        }
+        return maxFlow;
+    }
+
+    // Pixelul este în partea sursei a tăieturii minime (segmentul „obiect”)
+    public boolean isSourceSide(int pixel) {
+        if (solver == null) {
+            throw new IllegalStateException("Fluxul maxim nu a fost calculat");
+        }
+        return solver.inSourceTree(node(pixel));
+    }
+
+    public BitSet getSourceSide() {
+        BitSet side = new BitSet(getPixelCount());
+        for (int p = 0, count = getPixelCount(); p < count; p++) {
+            if (isSourceSide(p)) side.set(p);
+        }
+        return side;
+    }
+
+    private final class Solver extends BoykovKolmogorov {
+        Solver() {
+            super(nodes);
+        }
+
+        @Override
+        int arcStart(int v) {
+            if (v == source) return sourceArcs;
+            if (v == sink) return sinkArcs;
+            return v * 8;
+        }
+
+        @Override
+        int arcEnd(int v) {
+            if (v == source) return sourceArcs + source;
+            if (v == sink) return sinkArcs + source;
+            return v * 8 + directions + 2;
+        }
+
+        @Override
+        int head(int arc) {
+            if (arc >= sourceArcs) {
+                return arc >= sinkArcs ? arc - sinkArcs : arc - sourceArcs;
+            }
+            int slot = arc & 7;
+            if (slot < directions) return (arc >>> 3) + offset[slot];
+            return slot == directions ? source : sink;
+        }
+
+        @Override
+        int sister(int arc) {
+            if (arc >= sourceArcs) {
+                return arc >= sinkArcs ? (arc - sinkArcs) * 8 + directions + 1 : (arc - sourceArcs) * 8 + directions;
+            }
+            int v = arc >>> 3, slot = arc & 7;
+            if (slot < directions) return (v + offset[slot]) * 8 + OPPOSITE[slot];
+            return slot == directions ? sourceArcs + v : sinkArcs + v;
+        }
+
+        @Override
+        int residual(int arc) {
+            return residual[arc];
+        }
+
+        @Override
+        void push(int arc, int amount) {
+            residual[arc] -= amount;
+            residual[sister(arc)] += amount;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap binar indexat după nod, cu chei long și decreaseKey în O(log n).
+ * Totul este ținut în tablouri primitive prealocate: inserarea, extragerea și
+ * micșorarea cheii nu alocă memorie.
+ */
+class IndexedHeap {
+    private final int[] heap;
+    private final int[] pos;
+    private final long[] key;
+    private int size;
+
+    IndexedHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        key = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int v) {
+        return pos[v] >= 0;
+    }
+
+    // Golește heap-ul în O(elemente rămase), nu O(capacitate)
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    void insert(int v, long k) {
+        key[v] = k;
+        heap[size] = v;
+        pos[v] = size;
+        siftUp(size++);
+    }
+
+    void decreaseKey(int v, long k) {
+        key[v] = k;
+        siftUp(pos[v]);
+    }
+
+    int poll() {
+        int top = heap[0];
+        pos[top] = -1;
+        if (--size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        long k = key[v];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (key[p] <= k) {
+                break;
+            }
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        long k = key[v];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            if (child + 1 < size && key[heap[child + 1]] < key[c]) {
+                c = heap[++child];
+            }
+            if (k <= key[c]) {
+                break;
+            }
+            heap[i] = c;
+            pos[c] = i;
+            i = child;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+}
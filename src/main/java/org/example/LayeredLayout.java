@@ -0,0 +1,102 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Aranjare pe niveluri de la sursă spre destinație: coloana unui nod este
+ * distanța BFS de la sursă pe arcele rețelei, iar nodurile în care nu se ajunge
+ * din sursă stau în ultima coloană. În fiecare coloană nodurile sunt ordonate
+ * după media rândurilor predecesorilor din coloana anterioară (euristica
+ * baricentrului), ceea ce reduce încrucișările de arce.
+ */
+final class LayeredLayout {
+    static final int COLUMN = 180, ROW = 90;
+
+    private LayeredLayout() {
+    }
+
+    static void apply(int vertices, int edgeCount, int[] from, int[] to, int source, int margin,
+                      int[] x, int[] y) {
+        int[] start = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            start[from[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] adjacent = new int[edgeCount];
+        int[] next = Arrays.copyOf(start, vertices);
+        for (int e = 0; e < edgeCount; e++) {
+            adjacent[next[from[e]]++] = to[e];
+        }
+
+        // Distanțele BFS; coada dă nodurile deja grupate pe niveluri crescătoare
+        int[] level = new int[vertices];
+        Arrays.fill(level, -1);
+        int[] queue = next;
+        int qHead = 0, qTail = 0;
+        queue[qTail++] = source;
+        level[source] = 0;
+        while (qHead < qTail) {
+            int u = queue[qHead++];
+            for (int i = start[u]; i < start[u + 1]; i++) {
+                int v = adjacent[i];
+                if (level[v] < 0) {
+                    level[v] = level[u] + 1;
+                    queue[qTail++] = v;
+                }
+            }
+        }
+        int levels = level[queue[qTail - 1]] + 1;
+        if (qTail < vertices) {
+            for (int v = 0; v < vertices; v++) {
+                if (level[v] < 0) {
+                    level[v] = levels;
+                    queue[qTail++] = v;
+                }
+            }
+            levels++;
+        }
+
+        // Baricentrul predecesorilor din nivelul anterior, nivel cu nivel
+        int[] row = new int[vertices];
+        double[] weight = new double[vertices];
+        int[] count = new int[vertices];
+        int[] size = new int[levels];
+        Integer[] order = new Integer[vertices];
+        int widest = 0;
+        for (int begin = 0; begin < vertices; ) {
+            int end = begin;
+            while (end < vertices && level[queue[end]] == level[queue[begin]]) end++;
+            for (int i = begin; i < end; i++) {
+                order[i] = queue[i];
+            }
+            Arrays.sort(order, begin, end, (a, b) -> Double.compare(barycenter(a, weight, count),
+                    barycenter(b, weight, count)));
+            for (int i = begin; i < end; i++) {
+                int u = order[i];
+                row[u] = i - begin;
+                for (int k = start[u]; k < start[u + 1]; k++) {
+                    int v = adjacent[k];
+                    if (level[v] == level[u] + 1) {
+                        weight[v] += row[u];
+                        count[v]++;
+                    }
+                }
+            }
+            size[level[queue[begin]]] = end - begin;
+            widest = Math.max(widest, end - begin);
+            begin = end;
+        }
+
+        // Coloanele sunt centrate vertical față de cea mai înaltă
+        for (int v = 0; v < vertices; v++) {
+            x[v] = margin + level[v] * COLUMN;
+            y[v] = margin + (int) Math.round((row[v] + (widest - size[level[v]]) / 2.0) * ROW);
+        }
+    }
+
+    private static double barycenter(int v, double[] weight, int[] count) {
+        return count[v] == 0 ? Double.MAX_VALUE : weight[v] / count[v];
+    }
+}
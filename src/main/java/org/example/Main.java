@@ -3,14 +3,50 @@ package org.example;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class Main extends JFrame {
     private NetworkPanel networkPanel;
-    private JButton calculateMaxFlowBtn, clearBtn, resetFlowBtn;
+    private JButton calculateMaxFlowBtn, clearBtn, resetFlowBtn, cancelBtn, saveBtn, openBtn;
+    private JButton layoutBtn, layeredBtn;
+    private JComboBox<FlowAlgorithm> algorithmBox;
+    private JCheckBox statsBox;
+    private JCheckBox scalingBox;
+    private JCheckBox reductionBox;
+    private JTextArea statsText;
+    private JPanel statsPanel;
+    private SolverStats lastStats;
     private JLabel statusLabel;
 
+    // Solverul păstrat între calcule; modificările din rețea îi sunt transmise
+    // incremental, iar null înseamnă că trebuie reconstruit din toate arcele
+    private FordFulkerson solver;
+
+    // Calculul în desfășurare (null dacă nu rulează niciunul)
+    private SolveTask running;
+
+    // Aranjarea automată în desfășurare (null dacă nu rulează)
+    private LayoutTask layoutTask;
+
+    // Rezultatele pe versiunea curentă a rețelei: o cerere repetată nu mai recalculează
+    private final ResultCache resultCache = new ResultCache(64L << 20);
+
     public Main() {
         setTitle("Ford-Fulkerson - Flux Maxim și Tăietură Minimă");
         setSize(1200, 800);
@@ -28,16 +64,53 @@ public class Main extends JFrame {
         calculateMaxFlowBtn = new JButton("Calculează Flux Maxim (F)");
         resetFlowBtn = new JButton("Resetează Flux (R)");
         clearBtn = new JButton("Șterge Tot (C)");
+        cancelBtn = new JButton("Anulează (Esc)");
+        cancelBtn.setEnabled(false);
+        saveBtn = new JButton("Salvează");
+        openBtn = new JButton("Deschide");
+        layoutBtn = new JButton("Aranjare automată");
+        layoutBtn.setToolTipText("Aranjare force-directed (Barnes-Hut), animată; Esc o oprește");
+        layeredBtn = new JButton("Aranjare pe niveluri");
+        layeredBtn.setToolTipText("Coloane după distanța BFS de la un nod sursă");
+        algorithmBox = new JComboBox<>(FlowAlgorithm.values());
+        algorithmBox.setFocusable(false);
+        scalingBox = new JCheckBox("Scalare capacități");
+        scalingBox.setFocusable(false);
+        scalingBox.setToolTipText("Doar pentru Edmonds-Karp (simplu sau bidirecțional) și Dinic: întâi drumurile cu capacitate reziduală mare");
+        algorithmBox.addActionListener(e -> scalingBox.setEnabled(
+                ((FlowAlgorithm) algorithmBox.getSelectedItem()).supportsScaling()));
+        reductionBox = new JCheckBox("Reducere rețea");
+        reductionBox.setFocusable(false);
+        reductionBox.setToolTipText("Elimină nodurile fără drum sursă-destinație, contractă lanțurile și comasează arcele paralele înaintea calculului");
+        statsBox = new JCheckBox("Statistici");
+        statsBox.setFocusable(false);
+        statsBox.addActionListener(e -> {
+            statsPanel.setVisible(statsBox.isSelected());
+            revalidate();
+        });
 
         calculateMaxFlowBtn.addActionListener(e -> calculateMaxFlow());
         resetFlowBtn.addActionListener(e -> networkPanel.resetFlow());
         clearBtn.addActionListener(e -> networkPanel.clear());
+        cancelBtn.addActionListener(e -> cancelCalculation());
+        saveBtn.addActionListener(e -> saveNetwork());
+        openBtn.addActionListener(e -> openNetwork());
+        layoutBtn.addActionListener(e -> startLayout());
+        layeredBtn.addActionListener(e -> layeredLayout());
 
         // Adăugare taste scurte
         KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(new KeyEventDispatcher() {
             @Override
             public boolean dispatchKeyEvent(KeyEvent e) {
                 if (e.getID() == KeyEvent.KEY_PRESSED) {
+                    // În timpul calculului sau al aranjării rețeaua nu poate fi modificată
+                    if (running != null || layoutTask != null) {
+                        if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                            cancelCalculation();
+                            return true;
+                        }
+                        return false;
+                    }
                     if (e.getKeyCode() == KeyEvent.VK_F) {
                         calculateMaxFlow();
                         return true;
@@ -53,12 +126,43 @@ public class Main extends JFrame {
             }
         });
 
+        controlPanel.add(new JLabel("Algoritm:"));
+        controlPanel.add(algorithmBox);
+        controlPanel.add(scalingBox);
+        controlPanel.add(reductionBox);
+        controlPanel.add(statsBox);
         controlPanel.add(calculateMaxFlowBtn);
         controlPanel.add(resetFlowBtn);
         controlPanel.add(clearBtn);
+        controlPanel.add(cancelBtn);
+        controlPanel.add(saveBtn);
+        controlPanel.add(openBtn);
+        controlPanel.add(layoutBtn);
+        controlPanel.add(layeredBtn);
 
         add(controlPanel, BorderLayout.NORTH);
 
+        // Panoul de statistici, vizibil doar cu "Statistici" bifat
+        statsText = new JTextArea(22, 30);
+        statsText.setEditable(false);
+        statsText.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        statsText.setText("Rulați un calcul pentru statistici.");
+        JButton copyJsonBtn = new JButton("Copiază JSON");
+        copyJsonBtn.setFocusable(false);
+        copyJsonBtn.addActionListener(e -> {
+            if (lastStats != null) {
+                Toolkit.getDefaultToolkit().getSystemClipboard().setContents(
+                        new java.awt.datatransfer.StringSelection(lastStats.toJson()), null);
+                updateStatus("Statisticile au fost copiate în clipboard (JSON)");
+            }
+        });
+        statsPanel = new JPanel(new BorderLayout());
+        statsPanel.setBorder(BorderFactory.createTitledBorder("Statistici calcul"));
+        statsPanel.add(new JScrollPane(statsText), BorderLayout.CENTER);
+        statsPanel.add(copyJsonBtn, BorderLayout.SOUTH);
+        statsPanel.setVisible(false);
+        add(statsPanel, BorderLayout.EAST);
+
         // Status bar
         statusLabel = new JLabel("Click pentru a adăuga nod | Drag de pe un nod pe altul pentru arc | Drag nod în gol pentru mutare");
         statusLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
@@ -71,14 +175,43 @@ public class Main extends JFrame {
         statusLabel.setText(message);
     }
 
+    void nodeAdded() {
+        if (solver != null) {
+            solver.addVertex();
+        }
+    }
+
+    void edgeAdded(Edge edge) {
+        if (solver != null) {
+            solver.addEdge(edge.from, edge.to, edge.capacity, edge.flow, edge.cost);
+        }
+    }
+
+    void edgeCostChanged(int edgeIndex, int cost) {
+        if (solver != null) {
+            solver.setCost(edgeIndex, cost);
+        }
+    }
+
+    void edgeCapacityChanged(int edgeIndex, int capacity) {
+        if (solver != null) {
+            solver.setCapacity(edgeIndex, capacity);
+        }
+    }
+
+    // Modificare structurală (ștergere, resetare): următorul calcul pornește de la zero
+    void networkChanged() {
+        solver = null;
+    }
+
     private void calculateMaxFlow() {
-        if (networkPanel.getNodes().size() < 2) {
+        if (networkPanel.getGraph().nodeCount() < 2) {
             JOptionPane.showMessageDialog(this, "Adăugați cel puțin 2 noduri!");
             return;
         }
 
-        String sourceStr = JOptionPane.showInputDialog(this, "Introduceți nodul sursă (0-" + (networkPanel.getNodes().size()-1) + "):");
-        String sinkStr = JOptionPane.showInputDialog(this, "Introduceți nodul destinație (0-" + (networkPanel.getNodes().size()-1) + "):");
+        String sourceStr = JOptionPane.showInputDialog(this, "Introduceți nodul sursă (0-" + (networkPanel.getGraph().nodeCount()-1) + "):");
+        String sinkStr = JOptionPane.showInputDialog(this, "Introduceți nodul destinație (0-" + (networkPanel.getGraph().nodeCount()-1) + "):");
 
         if (sourceStr == null || sinkStr == null) return;
 
@@ -86,41 +219,772 @@ public class Main extends JFrame {
             int source = Integer.parseInt(sourceStr);
             int sink = Integer.parseInt(sinkStr);
 
-            if (source < 0 || source >= networkPanel.getNodes().size() ||
-                    sink < 0 || sink >= networkPanel.getNodes().size() || source == sink) {
+            if (source < 0 || source >= networkPanel.getGraph().nodeCount() ||
+                    sink < 0 || sink >= networkPanel.getGraph().nodeCount() || source == sink) {
                 JOptionPane.showMessageDialog(this, "Noduri invalide!");
                 return;
             }
 
-            FordFulkerson ff = new FordFulkerson(networkPanel.getNodes().size());
-            for (Edge edge : networkPanel.getEdges()) {
-                ff.addEdge(edge.from, edge.to, edge.capacity, edge.flow);
+            FlowAlgorithm algorithm = (FlowAlgorithm) algorithmBox.getSelectedItem();
+            ResultCache.Key key = new ResultCache.Key(networkPanel.getVersion(), source, sink, algorithm,
+                    scalingBox.isSelected() && algorithm.supportsScaling(), reductionBox.isSelected());
+            ResultCache.Entry cached = resultCache.get(key);
+
+            // După compactare, id-urile arcelor din panou sunt chiar id-urile din solver
+            GraphModel graph = networkPanel.getGraph();
+            if (solver == null || solver.getVertexCount() != graph.nodeCount()) {
+                graph.compact();
+                solver = new FordFulkerson(graph.nodeCount());
+                for (Edge edge : graph.edges()) {
+                    solver.addEdge(edge.from, edge.to, edge.capacity, edge.flow, edge.cost);
+                }
             }
+            if (cached != null) {
+                // Solverul poate avea soluția altei perechi; preia rezultatul afișat,
+                // ca salvarea și recalculările incrementale să pornească de la el
+                FlowResult result = cached.result;
+                int[] flows = new int[result.getEdgeCount()];
+                for (int e = 0; e < flows.length; e++) {
+                    flows[e] = result.getFlow(e);
+                }
+                solver.restoreSolution(source, sink, result.getMaxFlow(), flows, result.getSourceSide());
+                showResult(cached, null, true);
+                return;
+            }
+            solver.setAlgorithm(algorithm);
+            solver.setCapacityScaling(scalingBox.isSelected());
+            solver.setNetworkReduction(reductionBox.isSelected());
+
+            solver.setStatsEnabled(statsBox.isSelected());
+            running = new SolveTask(solver, source, sink, key);
+            setCalculating(true);
+            statusLabel.setText("Calcul în curs... (Esc pentru anulare)");
+            running.execute();
+
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Introduceți numere valide!");
+        }
+    }
 
-            int maxFlow = ff.getMaxFlow(source, sink);
-            Set<Edge> minCut = ff.getMinCut(source);
+    private static JFileChooser snapshotChooser() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Rețea salvată (*.ffs)", "ffs"));
+        return chooser;
+    }
 
-            networkPanel.setFlows(ff.getFlows());
-            networkPanel.setMinCut(minCut);
+    /**
+     * Salvează rețeaua în format binar (NetworkSnapshot), cu pozițiile nodurilor
+     * și, dacă solverul are un flux calculat, cu soluția și tăietura minimă.
+     */
+    private void saveNetwork() {
+        JFileChooser chooser = snapshotChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path path = chooser.getSelectedFile().toPath();
+        if (!path.getFileName().toString().contains(".")) {
+            path = path.resolveSibling(path.getFileName() + ".ffs");
+        }
+
+        GraphModel graph = networkPanel.getGraph();
+        int n = graph.nodeCount();
+        int[] x = new int[n], y = new int[n];
+        for (Node node : graph.nodes()) {
+            x[node.id] = node.x;
+            y[node.id] = node.y;
+        }
+
+        // Solverul are aceleași id-uri de arce ca panoul; fără el, arcele sunt citite din panou
+        NetworkSnapshot snapshot;
+        if (solver != null && solver.getVertexCount() == n) {
+            snapshot = solver.snapshot(x, y);
+        } else {
+            graph.compact();
+            int m = graph.edgeCount();
+            int[] from = new int[m], to = new int[m], capacity = new int[m], cost = new int[m], flow = new int[m];
+            for (Edge edge : graph.edges()) {
+                from[edge.id] = edge.from;
+                to[edge.id] = edge.to;
+                capacity[edge.id] = edge.capacity;
+                cost[edge.id] = edge.cost;
+                flow[edge.id] = edge.flow;
+            }
+            snapshot = new NetworkSnapshot(n, m, x, y, from, to, capacity, cost, flow, -1, -1, 0, null, null);
+        }
+
+        try {
+            snapshot.write(path);
+            updateStatus("Rețea salvată: " + path.getFileName()
+                    + (snapshot.hasSolution() ? " (cu fluxul maxim " + snapshot.maxFlow + ")" : ""));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Eroare la salvare: " + ex.getMessage());
+        }
+    }
+
+    // Încarcă o rețea salvată; soluția din fișier este afișată fără a fi recalculată
+    private void openNetwork() {
+        JFileChooser chooser = snapshotChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        OpenTask task = new OpenTask(chooser.getSelectedFile().toPath(), (FlowAlgorithm) algorithmBox.getSelectedItem());
+        setCalculating(true);
+        statusLabel.setText("Se încarcă " + chooser.getSelectedFile().getName() + "...");
+        task.execute();
+    }
+
+    /**
+     * Citirea fișierului, construcția modelului, a indexului spațial și a
+     * solverului pe un fir din fundal; pe EDT panoul doar preia rețeaua.
+     */
+    private final class OpenTask extends SwingWorker<NetworkPanel.Loaded, Void> {
+        final Path path;
+        final FlowAlgorithm algorithm;
+        NetworkSnapshot snapshot;
+        FordFulkerson restored;
+        FlowResult solution;
+
+        OpenTask(Path path, FlowAlgorithm algorithm) {
+            this.path = path;
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        protected NetworkPanel.Loaded doInBackground() throws IOException {
+            snapshot = NetworkSnapshot.read(path);
+            NetworkPanel.Loaded loaded = new NetworkPanel.Loaded(snapshot);
+            restored = snapshot.toSolver(algorithm);
+            if (snapshot.hasSolution()) {
+                solution = restored.getResult();
+            }
+            return loaded;
+        }
+
+        @Override
+        protected void done() {
+            setCalculating(false);
+            NetworkPanel.Loaded loaded;
+            try {
+                loaded = get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                statusLabel.setText("Citire eșuată");
+                JOptionPane.showMessageDialog(Main.this, "Eroare la citire: "
+                        + (cause instanceof IOException ? cause.getMessage() : cause));
+                return;
+            }
+
+            networkPanel.load(loaded);
+            String status = "Rețea încărcată: " + snapshot.vertices + " noduri, " + snapshot.edgeCount + " arce";
+            if (!loaded.complete) {
+                // Arcele omise schimbă id-urile: solverul nu mai corespunde panoului,
+                // iar soluția este afișată căutând arcele după capete
+                status += " | arcele duplicate au fost omise";
+                if (solution != null) {
+                    networkPanel.setResultByPair(solution);
+                }
+            } else {
+                solver = restored;
+                if (solution != null) {
+                    networkPanel.setResult(solution);
+                }
+            }
+            if (solution != null) {
+                status += " | Flux Maxim: " + snapshot.maxFlow + " (" + snapshot.source + " → " + snapshot.sink + ")";
+            }
+            updateStatus(status);
+        }
+    }
+
+    private void cancelCalculation() {
+        if (running != null) {
+            running.monitor.cancel();
+            statusLabel.setText("Se anulează...");
+        }
+        if (layoutTask != null) {
+            layoutTask.stop = true;
+        }
+    }
 
-            statusLabel.setText("Flux Maxim: " + maxFlow + " | Tăietură minimă evidențiată cu roșu");
+    // Arcele rețelei ca tablouri from/to indexate după id, după compactare
+    private int[][] edgeArrays() {
+        GraphModel graph = networkPanel.getGraph();
+        graph.compact();
+        int[] from = new int[graph.edgeCount()], to = new int[graph.edgeCount()];
+        for (Edge edge : graph.edges()) {
+            from[edge.id] = edge.from;
+            to[edge.id] = edge.to;
+        }
+        return new int[][]{from, to};
+    }
 
-            JOptionPane.showMessageDialog(this,
-                    "Flux Maxim: " + maxFlow + "\n" +
-                            "Tăietură Minimă: " + minCut.size() + " arce\n" +
-                            "Capacitate tăietură: " + ff.getMinCutCapacity(minCut),
-                    "Rezultat", JOptionPane.INFORMATION_MESSAGE);
+    private void startLayout() {
+        GraphModel graph = networkPanel.getGraph();
+        if (graph.nodeCount() < 2) {
+            JOptionPane.showMessageDialog(this, "Adăugați cel puțin 2 noduri!");
+            return;
+        }
+        int n = graph.nodeCount();
+        int[] x = new int[n], y = new int[n];
+        for (Node node : graph.nodes()) {
+            x[node.id] = node.x;
+            y[node.id] = node.y;
+        }
+        int[][] edges = edgeArrays();
+        ForceLayout layout = new ForceLayout(n, edges[0].length, edges[0], edges[1], x, y,
+                Runtime.getRuntime().availableProcessors());
+        layoutTask = new LayoutTask(layout, n);
+        setCalculating(true);
+        statusLabel.setText("Aranjare în curs... (Esc pentru oprire)");
+        layoutTask.execute();
+    }
 
+    private void layeredLayout() {
+        GraphModel graph = networkPanel.getGraph();
+        if (graph.nodeCount() < 1) {
+            return;
+        }
+        String sourceStr = JOptionPane.showInputDialog(this, "Introduceți nodul sursă (0-" + (graph.nodeCount() - 1) + "):");
+        if (sourceStr == null) return;
+        int source;
+        try {
+            source = Integer.parseInt(sourceStr.trim());
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this, "Introduceți numere valide!");
+            return;
+        }
+        if (source < 0 || source >= graph.nodeCount()) {
+            JOptionPane.showMessageDialog(this, "Noduri invalide!");
+            return;
+        }
+
+        int n = graph.nodeCount();
+        int[] x = new int[n], y = new int[n];
+        int[][] edges = edgeArrays();
+        LayeredLayout.apply(n, edges[0].length, edges[0], edges[1], source, 60, x, y);
+        networkPanel.setPositions(x, y);
+        updateStatus("Noduri aranjate pe niveluri de la nodul " + source);
+    }
+
+    /**
+     * Aranjarea force-directed pe un fir din fundal. Pozițiile sunt publicate de
+     * cel mult 25 de ori pe secundă, deci rețeaua se vede cum se așază.
+     */
+    private final class LayoutTask extends SwingWorker<Void, int[][]> {
+        private static final int MAX_STEPS = 1000;
+
+        final ForceLayout layout;
+        final int[] finalX, finalY;
+        volatile boolean stop;
+
+        LayoutTask(ForceLayout layout, int vertices) {
+            this.layout = layout;
+            this.finalX = new int[vertices];
+            this.finalY = new int[vertices];
+        }
+
+        @Override
+        protected Void doInBackground() {
+            try {
+                long published = System.nanoTime();
+                while (!stop && !layout.isStable() && layout.getSteps() < MAX_STEPS) {
+                    layout.step();
+                    long now = System.nanoTime();
+                    if (now - published >= 40_000_000L) {
+                        int[] x = new int[finalX.length], y = new int[finalY.length];
+                        layout.positions(x, y, 60);
+                        publish(new int[][]{x, y});
+                        published = now;
+                    }
+                }
+                layout.positions(finalX, finalY, 60);
+            } finally {
+                layout.close();
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<int[][]> chunks) {
+            if (isDone()) return;
+            int[][] p = chunks.get(chunks.size() - 1);
+            networkPanel.setPositions(p[0], p[1]);
+            statusLabel.setText(String.format(Locale.ROOT, "Aranjare în curs... pași: %d | Esc pentru oprire",
+                    layout.getSteps()));
+        }
+
+        @Override
+        protected void done() {
+            layoutTask = null;
+            setCalculating(false);
+            try {
+                get();
+                networkPanel.setPositions(finalX, finalY);
+                statusLabel.setText("Aranjare " + (stop ? "oprită" : "terminată") + " după " + layout.getSteps() + " pași");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                statusLabel.setText("Aranjare eșuată");
+                JOptionPane.showMessageDialog(Main.this, "Eroare: " + ex.getCause());
+            }
         }
     }
 
+    // Cât timp rulează un calcul, rețeaua și algoritmul nu pot fi modificate
+    private void setCalculating(boolean calculating) {
+        calculateMaxFlowBtn.setEnabled(!calculating);
+        resetFlowBtn.setEnabled(!calculating);
+        clearBtn.setEnabled(!calculating);
+        algorithmBox.setEnabled(!calculating);
+        scalingBox.setEnabled(!calculating && ((FlowAlgorithm) algorithmBox.getSelectedItem()).supportsScaling());
+        reductionBox.setEnabled(!calculating);
+        cancelBtn.setEnabled(calculating);
+        saveBtn.setEnabled(!calculating);
+        openBtn.setEnabled(!calculating);
+        layoutBtn.setEnabled(!calculating);
+        layeredBtn.setEnabled(!calculating);
+        networkPanel.setEditingEnabled(!calculating);
+    }
+
+    // Rezultatul unui calcul nou (cu statisticile lui) sau unul găsit în cache
+    private void showResult(ResultCache.Entry entry, SolverStats stats, boolean cached) {
+        FlowResult result = entry.result;
+        networkPanel.setResult(result);
+        if (stats != null) {
+            lastStats = stats;
+            statsText.setText(formatStats(stats)
+                    + (entry.reduction != null ? "\nReducerea rețelei:\n" + entry.reduction : "")
+                    + "\nCache rezultate:\n" + resultCache + "\n");
+            statsText.setCaretPosition(0);
+        }
+
+        String cost = entry.cost != null ? "Cost total: " + entry.cost : "";
+        String reduced = entry.reduction == null ? "" : String.format(Locale.ROOT, " | Rețea redusă: %d → %d arce",
+                entry.reduction.getArcs(), entry.reduction.getReducedArcs());
+        String origin = !cached ? "" : String.format(Locale.ROOT, " | Din cache (accesări %d, ratări %d)",
+                resultCache.getHits(), resultCache.getMisses());
+        statusLabel.setText("Flux Maxim: " + result.getMaxFlow() + (cost.isEmpty() ? "" : " | " + cost) + reduced
+                + origin + " | Tăietură minimă evidențiată cu roșu");
+
+        JOptionPane.showMessageDialog(this,
+                "Flux Maxim: " + result.getMaxFlow() + "\n" +
+                        (cost.isEmpty() ? "" : cost + "\n") +
+                        "Tăietură Minimă: " + result.getCutEdgeCount() + " arce\n" +
+                        "Capacitate tăietură: " + result.getCutCapacity(),
+                "Rezultat", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private static final class Progress {
+        final long steps, flow, elapsedNanos;
+        final FlowResult snapshot;
+
+        Progress(long steps, long flow, long elapsedNanos, FlowResult snapshot) {
+            this.steps = steps;
+            this.flow = flow;
+            this.elapsedNanos = elapsedNanos;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * Calculul fluxului pe un fir din fundal. Progresul este publicat de cel
+     * mult 4 ori pe secundă, cu instantaneul fluxurilor afișat în rețea.
+     */
+    private final class SolveTask extends SwingWorker<Void, Progress> {
+        final FordFulkerson ff;
+        final int source, sink;
+        final ResultCache.Key key;
+        final FlowMonitor monitor;
+
+        long maxFlow;
+        FlowResult result;
+        Long cost;
+        SolverStats stats;
+        ReductionReport reduction;
+
+        SolveTask(FordFulkerson ff, int source, int sink, ResultCache.Key key) {
+            this.ff = ff;
+            this.source = source;
+            this.sink = sink;
+            this.key = key;
+            this.monitor = new FlowMonitor((steps, flow, elapsed, snapshot) ->
+                    publish(new Progress(steps, flow, elapsed, snapshot)), 250);
+        }
+
+        @Override
+        protected Void doInBackground() {
+            ff.setMonitor(monitor);
+            try {
+                maxFlow = ff.getMaxFlow(source, sink);
+                result = ff.getResult();
+                if (ff.getAlgorithm() == FlowAlgorithm.MIN_COST) {
+                    cost = ff.getTotalCost();
+                }
+                stats = ff.getLastStats();
+                reduction = ff.getLastReduction();
+            } finally {
+                ff.setMonitor(null);
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<Progress> chunks) {
+            // Contează doar cel mai recent instantaneu
+            Progress p = chunks.get(chunks.size() - 1);
+            if (monitor.isCancelled()) return;
+            networkPanel.setResult(p.snapshot);
+            statusLabel.setText(String.format(Locale.ROOT,
+                    "Calcul în curs... pași: %d | flux curent: %d | timp: %.1f s | Esc pentru anulare",
+                    p.steps, p.flow, p.elapsedNanos / 1e9));
+        }
+
+        @Override
+        protected void done() {
+            running = null;
+            setCalculating(false);
+            try {
+                get();
+                resultCache.put(key, result, cost, reduction);
+                showResult(new ResultCache.Entry(result, cost, reduction), stats, false);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof CancellationException) {
+                    // Solverul a revenit la fluxurile inițiale
+                    networkPanel.setResult(null);
+                    statusLabel.setText("Calcul anulat");
+                } else if (cause instanceof IllegalStateException) {
+                    // Costurile negative pot forma un ciclu de cost negativ
+                    solver = null;
+                    statusLabel.setText("Calcul eșuat");
+                    JOptionPane.showMessageDialog(Main.this, cause.getMessage());
+                } else {
+                    solver = null;
+                    statusLabel.setText("Calcul eșuat");
+                    JOptionPane.showMessageDialog(Main.this, "Eroare: " + cause);
+                }
+            }
+        }
+    }
+
+    static String formatStats(SolverStats s) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Algoritm:          %s%n", s.getAlgorithm()));
+        text.append(String.format(Locale.ROOT, "Noduri / arce:     %d / %d%n", s.getVertices(), s.getArcs()));
+        text.append(String.format(Locale.ROOT, "Flux maxim:        %d%n%n", s.getMaxFlow()));
+        text.append(String.format(Locale.ROOT, "Căutări:           %d%n", s.getSearches()));
+        text.append(String.format(Locale.ROOT, "Drumuri augmentare:%d%n", s.getAugmentingPaths()));
+        text.append(String.format(Locale.ROOT, "Arce examinate:    %d%n", s.getArcsScanned()));
+        text.append(String.format(Locale.ROOT, "Arce / căutare:    %.1f%n", s.getArcsPerSearch()));
+        text.append(String.format(Locale.ROOT, "Push-uri:          %d%n", s.getPushes()));
+        text.append(String.format(Locale.ROOT, "Reetichetări:      %d (globale %d)%n", s.getRelabels(), s.getGlobalRelabels()));
+        text.append(String.format(Locale.ROOT, "Faze de scalare:   %d%n%n", s.getScalingPhases()));
+
+        long[] histogram = s.getPathLengthHistogram();
+        if (s.getAugmentingPaths() > 0) {
+            text.append("Lungimea drumurilor:\n");
+            for (int k = 0; k < histogram.length; k++) {
+                if (histogram[k] > 0) {
+                    text.append(String.format(Locale.ROOT, "  %6d-%-6d %d%n", 1L << k, (1L << (k + 1)) - 1, histogram[k]));
+                }
+            }
+            text.append('\n');
+        }
+
+        text.append(String.format(Locale.ROOT, "Construcție:       %.2f ms%n", s.getBuildNanos() / 1e6));
+        text.append(String.format(Locale.ROOT, "Calcul:            %.2f ms%n", s.getSolveNanos() / 1e6));
+        text.append(String.format(Locale.ROOT, "Tăietură minimă:   %.2f ms%n", s.getMinCutNanos() / 1e6));
+        text.append(String.format(Locale.ROOT, "Extragere fluxuri: %.2f ms%n", s.getFlowNanos() / 1e6));
+        text.append(String.format(Locale.ROOT, "Heap maxim:        %.1f MB%n", s.getPeakHeapBytes() / (1024.0 * 1024.0)));
+        return text.toString();
+    }
+
     public static void main(String[] args) {
+        // Cu argumente rulează fără interfață grafică (fișiere DIMACS)
+        if (args.length > 0) {
+            System.exit(runHeadless(args));
+        }
+
         SwingUtilities.invokeLater(() -> {
             new Main().setVisible(true);
         });
     }
+
+    /**
+     * Mod fără interfață: citește o rețea DIMACS, calculează fluxul maxim și
+     * scrie soluția în format DIMACS. Returnează codul de ieșire al procesului.
+     *
+     * Utilizare: intrare.max [-o iesire.sol] [-a ALGORITM] [-t FIRE] [-s statistici.json] [-c] [-r] [-q perechi.txt] [-b retea.ffs] [-m director]
+     *
+     * Cu -q se calculează în paralel fluxul maxim pentru fiecare pereche
+     * "sursă destinație" din fișier (noduri numerotate de la 1, ca în DIMACS),
+     * iar ieșirea are câte o linie "sursă destinație flux". Opțiunile -s și -b
+     * sunt respinse în acest mod.
+     *
+     * Intrarea poate fi și o rețea salvată în format binar (.ffs, vezi
+     * NetworkSnapshot), recunoscută după antet; dacă are o soluție salvată,
+     * calculul doar o completează. Cu -b rețeaua și soluția sunt salvate în
+     * acest format după calcul.
+     *
+     * Cu -m arcele sunt ținute în fișiere mapate create în director (vezi
+     * MappedResidualGraph), iar calculul folosește Dinic direct pe ele; așa se
+     * rezolvă rețele mai mari decât heap-ul. Opțiunile -a (în afară de DINIC),
+     * -t, -c, -r, -q și -b sunt respinse în acest mod.
+     */
+    static int runHeadless(String[] args) {
+        String input = null, output = null, statsOutput = null, queries = null, snapshotOutput = null;
+        String mappedDirectory = null;
+        FlowAlgorithm algorithm = FlowAlgorithm.DINIC;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean scaling = false, reduction = false, threadsGiven = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-o":
+                        output = args[++i];
+                        break;
+                    case "-a":
+                        algorithm = FlowAlgorithm.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                        break;
+                    case "-t":
+                        threads = Integer.parseInt(args[++i]);
+                        threadsGiven = true;
+                        break;
+                    case "-s":
+                        statsOutput = args[++i];
+                        break;
+                    case "-c":
+                        scaling = true;
+                        break;
+                    case "-r":
+                        reduction = true;
+                        break;
+                    case "-q":
+                        queries = args[++i];
+                        break;
+                    case "-b":
+                        snapshotOutput = args[++i];
+                        break;
+                    case "-m":
+                        mappedDirectory = args[++i];
+                        break;
+                    default:
+                        if (input != null) throw new IllegalArgumentException("Argument necunoscut: " + args[i]);
+                        input = args[i];
+                }
+            }
+            if (input == null) throw new IllegalArgumentException("Lipsește fișierul de intrare");
+            if (mappedDirectory != null) {
+                // Modul mapat are un singur algoritm (Dinic, secvențial) și nu păstrează rețeaua în heap
+                StringBuilder unsupported = new StringBuilder();
+                if (algorithm != FlowAlgorithm.DINIC) unsupported.append(" -a ").append(algorithm.name());
+                if (threadsGiven) unsupported.append(" -t");
+                if (scaling) unsupported.append(" -c");
+                if (reduction) unsupported.append(" -r");
+                if (queries != null) unsupported.append(" -q");
+                if (snapshotOutput != null) unsupported.append(" -b");
+                if (unsupported.length() > 0) {
+                    throw new IllegalArgumentException("Opțiuni care nu se aplică împreună cu -m:" + unsupported);
+                }
+            }
+            if (queries != null) {
+                // Perechile sunt rezolvate în lot, fără statistici și fără o soluție de salvat
+                StringBuilder unsupported = new StringBuilder();
+                if (statsOutput != null) unsupported.append(" -s");
+                if (snapshotOutput != null) unsupported.append(" -b");
+                if (unsupported.length() > 0) {
+                    throw new IllegalArgumentException("Opțiuni care nu se aplică împreună cu -q:" + unsupported);
+                }
+            }
+        } catch (RuntimeException ex) {
+            System.err.println(ex.getMessage() != null ? ex.getMessage() : ex.toString());
+            System.err.println("Utilizare: java -jar ford-fulkerson.jar intrare.max [-o iesire.sol] [-a ALGORITM] [-t FIRE] [-s statistici.json] [-c] [-r] [-q perechi.txt] [-b retea.ffs] [-m director]");
+            StringBuilder names = new StringBuilder();
+            for (FlowAlgorithm a : FlowAlgorithm.values()) {
+                names.append(' ').append(a.name());
+            }
+            System.err.println("Algoritmi:" + names);
+            return 2;
+        }
+
+        if (mappedDirectory != null) {
+            return runMapped(Paths.get(input), Paths.get(mappedDirectory), output, statsOutput);
+        }
+
+        try {
+            long start = System.nanoTime();
+            Path inputPath = Paths.get(input);
+            FordFulkerson ff;
+            int source, sink;
+            if (NetworkSnapshot.isSnapshot(inputPath)) {
+                NetworkSnapshot snapshot = NetworkSnapshot.read(inputPath);
+                if (!snapshot.hasTerminals() && queries == null) {
+                    System.err.println("Rețeaua salvată nu are sursă și destinație");
+                    return 1;
+                }
+                ff = snapshot.toSolver(algorithm);
+                source = snapshot.source;
+                sink = snapshot.sink;
+            } else {
+                DimacsReader reader = DimacsReader.read(inputPath, algorithm);
+                ff = reader.getSolver();
+                source = reader.getSource();
+                sink = reader.getSink();
+            }
+            ff.setThreads(threads);
+            ff.setStatsEnabled(statsOutput != null);
+            ff.setCapacityScaling(scaling);
+            ff.setNetworkReduction(reduction);
+            long parsed = System.nanoTime();
+
+            if (queries != null) {
+                return runQueries(ff, Paths.get(queries), output, parsed - start);
+            }
+
+            long maxFlow = ff.getMaxFlow(source, sink);
+            long solved = System.nanoTime();
+            int[] minCut = ff.getMinCutEdges(source);
+            if (snapshotOutput != null) {
+                ff.snapshot(null, null).write(Paths.get(snapshotOutput));
+            }
+
+            OutputStream out = output == null
+                    ? new FileOutputStream(FileDescriptor.out)
+                    : Files.newOutputStream(Paths.get(output));
+            try (DimacsWriter writer = new DimacsWriter(out)) {
+                writer.writeSolution(ff, maxFlow, minCut);
+            }
+            long written = System.nanoTime();
+
+            System.err.printf(Locale.ROOT, "Noduri: %d, arce: %d%n", ff.getVertexCount(), ff.getEdgeCount());
+            System.err.printf(Locale.ROOT, "Citire: %.1f ms, calcul (%s): %.1f ms, scriere: %.1f ms%n",
+                    (parsed - start) / 1e6, algorithm + (scaling && algorithm.supportsScaling() ? ", scalare" : ""),
+                    (solved - parsed) / 1e6, (written - solved) / 1e6);
+            if (ff.getLastReduction() != null) {
+                System.err.print(ff.getLastReduction());
+            }
+            System.err.println("Flux Maxim: " + maxFlow);
+            if (algorithm == FlowAlgorithm.MIN_COST) {
+                System.err.println("Cost total: " + ff.getTotalCost());
+            }
+            if (statsOutput != null) {
+                Files.write(Paths.get(statsOutput),
+                        (ff.getLastStats().toJson() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return 0;
+        } catch (NoSuchFileException ex) {
+            System.err.println("Fișier inexistent: " + ex.getFile());
+            return 1;
+        } catch (IOException ex) {
+            System.err.println("Eroare: " + ex.getMessage());
+            return 1;
+        }
+    }
+
+    // Rețeaua DIMACS în fișiere mapate, rezolvată cu Dinic fără a o încărca în heap
+    private static int runMapped(Path input, Path directory, String output, String statsOutput) {
+        try {
+            long start = System.nanoTime();
+            SolverStats.resetPeakHeap();
+            DimacsReader reader = DimacsReader.readMapped(input, directory);
+            try (MappedResidualGraph.Builder builder = reader.getMappedBuilder();
+                 MappedResidualGraph graph = builder.build()) {
+                long parsed = System.nanoTime();
+                SolverStats stats = statsOutput != null
+                        ? new SolverStats(FlowAlgorithm.DINIC, graph.vertices, 2 * graph.edgeCount) : null;
+                FlowMonitor monitor = new FlowMonitor();
+                long maxFlow;
+                monitor.begin(null, 0, stats);
+                try {
+                    maxFlow = new Dinic(graph.vertices).maxFlow(graph, reader.getSource(), reader.getSink(), monitor);
+                } finally {
+                    monitor.end();
+                }
+                long solved = System.nanoTime();
+                int[] minCut = graph.cutEdges(graph.reachable(reader.getSource()));
+                long cut = System.nanoTime();
+
+                OutputStream out = output == null
+                        ? new FileOutputStream(FileDescriptor.out)
+                        : Files.newOutputStream(Paths.get(output));
+                try (DimacsWriter writer = new DimacsWriter(out)) {
+                    writer.writeSolution(graph, maxFlow, minCut);
+                }
+                long written = System.nanoTime();
+
+                System.err.printf(Locale.ROOT, "Noduri: %d, arce: %d (fișiere mapate în %s)%n",
+                        graph.vertices, graph.edgeCount, directory);
+                System.err.printf(Locale.ROOT, "Citire și construcție: %.1f ms, calcul (Dinic): %.1f ms, scriere: %.1f ms%n",
+                        (parsed - start) / 1e6, (solved - parsed) / 1e6, (written - cut) / 1e6);
+                System.err.println("Flux Maxim: " + maxFlow);
+                if (stats != null) {
+                    stats.buildNanos = parsed - start;
+                    stats.solveNanos = solved - parsed;
+                    stats.minCutNanos = cut - solved;
+                    stats.maxFlow = maxFlow;
+                    stats.capturePeakHeap();
+                    Files.write(Paths.get(statsOutput), (stats.toJson() + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+                return 0;
+            }
+        } catch (NoSuchFileException ex) {
+            System.err.println("Fișier inexistent: " + ex.getFile());
+            return 1;
+        } catch (IOException | IllegalStateException ex) {
+            System.err.println("Eroare: " + ex.getMessage());
+            return 1;
+        }
+    }
+
+    // Fluxul maxim pentru perechile din fișier, rezolvate în lot pe aceeași rețea
+    private static int runQueries(FordFulkerson ff, Path queries, String output, long parseNanos) throws IOException {
+        List<String> lines = Files.readAllLines(queries, StandardCharsets.UTF_8);
+        int[] sources = new int[lines.size()];
+        int[] sinks = new int[lines.size()];
+        int count = 0;
+        for (String line : lines) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length < 2 || parts[0].startsWith("c")) continue;
+            try {
+                sources[count] = Integer.parseInt(parts[0]) - 1;
+                sinks[count] = Integer.parseInt(parts[1]) - 1;
+            } catch (NumberFormatException ex) {
+                System.err.println("Pereche invalidă: " + line);
+                return 2;
+            }
+            count++;
+        }
+        sources = Arrays.copyOf(sources, count);
+        sinks = Arrays.copyOf(sinks, count);
+
+        long start = System.nanoTime();
+        BatchMaxFlow batch = ff.batch();
+        long[] values;
+        try {
+            values = batch.maxFlows(sources, sinks);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            System.err.println("Perechi invalide: " + ex.getMessage());
+            return 2;
+        }
+        long solved = System.nanoTime();
+
+        OutputStream out = output == null
+                ? new FileOutputStream(FileDescriptor.out)
+                : Files.newOutputStream(Paths.get(output));
+        try (PrintStream print = new PrintStream(new BufferedOutputStream(out), false, "UTF-8")) {
+            for (int i = 0; i < count; i++) {
+                print.println((sources[i] + 1) + " " + (sinks[i] + 1) + " " + values[i]);
+            }
+        }
+
+        System.err.printf(Locale.ROOT, "Noduri: %d, arce: %d, perechi: %d%n",
+                ff.getVertexCount(), ff.getEdgeCount(), count);
+        System.err.printf(Locale.ROOT, "Citire: %.1f ms, calcul (%s, %d fire): %.1f ms%n",
+                parseNanos / 1e6, batch.getAlgorithm(), batch.getThreads(), (solved - start) / 1e6);
+        return 0;
+    }
 }
 
 class Node {
@@ -135,7 +999,7 @@ class Node {
     }
 
     public boolean contains(int px, int py) {
-        return Math.sqrt((px - x) * (px - x) + (py - y) * (py - y)) <= RADIUS;
+        return (px - x) * (px - x) + (py - y) * (py - y) <= RADIUS * RADIUS;
     }
 }
 
@@ -145,6 +1009,10 @@ class Edge {
     int flow;
     int cost;
 
+    // Poziția în GraphModel: id-ul arcului și locul din listele de ieșire/intrare
+    int id = -1;
+    int outPos, inPos;
+
     public Edge(int from, int to, int capacity, int flow, int cost) {
         this.from = from;
         this.to = to;
@@ -163,15 +1031,47 @@ class Edge {
 
     @Override
     public int hashCode() {
-        return Objects.hash(from, to);
+        return 31 * from + to;
     }
 }
 
 class NetworkPanel extends JPanel {
-    private List<Node> nodes;
-    private List<Edge> edges;
-    private Map<Edge, Integer> flows;
-    private Set<Edge> minCut;
+    private GraphModel graph = new GraphModel();
+
+    // Rezultatul afișat (final sau instantaneu al unui calcul), folosit direct, fără copii.
+    // Vine din solver, construit după compact(), deci muchia e a rezultatului este arcul
+    // cu id-ul e; doar soluția unui fișier cu arce omise este căutată după capete
+    private FlowResult result;
+    private boolean resultByPair;
+
+    // Index spațial pentru găsirea nodurilor și arcelor de sub cursor
+    private SpatialIndex index = new SpatialIndex();
+
+    // Crește la fiecare modificare care schimbă rezultatul unui calcul (noduri, arce,
+    // capacități, costuri, fluxuri inițiale); mutarea nodurilor nu îl schimbă
+    private long version;
+
+    // Arcele și nodurile sunt desenate într-o imagine refolosită între repaint-uri
+    // și redesenate doar după o modificare a rețelei (redraw)
+    private BufferedImage layer;
+    private boolean layerValid;
+
+    private static final Font EDGE_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font NODE_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Stroke EDGE_STROKE = new BasicStroke(2);
+    private static final Stroke CUT_STROKE = new BasicStroke(3);
+    private static final Stroke DRAG_STROKE = new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{9}, 0);
+    private static final Color DRAG_COLOR = new Color(100, 100, 100, 150);
+
+    // Peste aceste numere de elemente vizibile se renunță la etichete și vârfuri de săgeată
+    private static final int DETAIL_EDGES = 4000;
+    private static final int DETAIL_NODES = 4000;
+
+    private static final int ARROW_SIZE = 10;
+    private static final double COS30 = Math.cos(Math.PI / 6);
+    private static final double SIN30 = Math.sin(Math.PI / 6);
+
+    private boolean editingEnabled = true;
 
     private Node draggedNode;
     private Node sourceNode;
@@ -180,10 +1080,6 @@ class NetworkPanel extends JPanel {
 
     public NetworkPanel(Main parent) {
         this.parentFrame = parent;
-        nodes = new ArrayList<>();
-        edges = new ArrayList<>();
-        flows = new HashMap<>();
-        minCut = new HashSet<>();
 
         setBackground(Color.WHITE);
 
@@ -214,13 +1110,30 @@ class NetworkPanel extends JPanel {
     }
 
     private void handleMouseClicked(MouseEvent e) {
+        if (!editingEnabled) return;
+
+        // Click dreapta pe eticheta unui arc modifică capacitatea și costul
+        if (SwingUtilities.isRightMouseButton(e)) {
+            Edge edge = index.labelAt(e.getX(), e.getY());
+            if (edge == null && findNode(e.getX(), e.getY()) == null) {
+                edge = index.edgeAt(e.getX(), e.getY(), 6);
+            }
+            if (edge != null) {
+                editEdge(edge);
+            }
+            return;
+        }
+
         // Click simplu adaugă nod nou dacă nu e pe un nod existent
         if (e.getClickCount() == 1) {
             Node clickedNode = findNode(e.getX(), e.getY());
             if (clickedNode == null) {
-                nodes.add(new Node(nodes.size(), e.getX(), e.getY()));
-                parentFrame.updateStatus("Nod " + (nodes.size() - 1) + " adăugat");
-                repaint();
+                Node node = graph.addNode(e.getX(), e.getY());
+                version++;
+                index.addNode(node);
+                parentFrame.nodeAdded();
+                parentFrame.updateStatus("Nod " + node.id + " adăugat");
+                redraw();
             }
         }
         // Double-click pe nod îl șterge
@@ -233,6 +1146,7 @@ class NetworkPanel extends JPanel {
     }
 
     private void handleMousePressed(MouseEvent e) {
+        if (!editingEnabled) return;
         draggedNode = findNode(e.getX(), e.getY());
         if (draggedNode != null) {
             sourceNode = draggedNode;
@@ -242,11 +1156,24 @@ class NetworkPanel extends JPanel {
 
     private void handleMouseDragged(MouseEvent e) {
         if (draggedNode != null) {
+            // Se redesenează doar zona liniei de drag, veche și nouă
+            Rectangle dirty = dragBounds();
             dragPoint = e.getPoint();
-            repaint();
+            dirty.add(dragBounds());
+            repaint(dirty);
         }
     }
 
+    private Rectangle dragBounds() {
+        Rectangle bounds = new Rectangle(sourceNode.x - Node.RADIUS, sourceNode.y - Node.RADIUS,
+                2 * Node.RADIUS, 2 * Node.RADIUS);
+        if (dragPoint != null) {
+            bounds.add(dragPoint);
+        }
+        bounds.grow(3, 3);
+        return bounds;
+    }
+
     private void handleMouseReleased(MouseEvent e) {
         if (draggedNode != null) {
             Node targetNode = findNode(e.getX(), e.getY());
@@ -258,35 +1185,35 @@ class NetworkPanel extends JPanel {
             }
             // Dacă target este gol → mută nodul
             else if (targetNode == null) {
-                sourceNode.x = e.getX();
-                sourceNode.y = e.getY();
+                index.moveNode(sourceNode, e.getX(), e.getY());
                 parentFrame.updateStatus("Nod " + sourceNode.id + " mutat");
             }
 
             draggedNode = null;
             sourceNode = null;
             dragPoint = null;
-            repaint();
+            redraw();
         }
     }
 
     private void createEdge(int from, int to) {
         // Verifică dacă arcul există deja
-        for (Edge edge : edges) {
-            if (edge.from == from && edge.to == to) {
-                JOptionPane.showMessageDialog(this, "Arcul există deja!");
-                return;
-            }
+        if (graph.findEdge(from, to) != null) {
+            JOptionPane.showMessageDialog(this, "Arcul există deja!");
+            return;
         }
 
-        JPanel panel = new JPanel(new GridLayout(2, 2, 5, 5));
+        JPanel panel = new JPanel(new GridLayout(3, 2, 5, 5));
         JTextField capacityField = new JTextField("10");
         JTextField flowField = new JTextField("0");
+        JTextField costField = new JTextField("0");
 
         panel.add(new JLabel("Capacitate:"));
         panel.add(capacityField);
         panel.add(new JLabel("Flux inițial:"));
         panel.add(flowField);
+        panel.add(new JLabel("Cost unitar:"));
+        panel.add(costField);
 
         int result = JOptionPane.showConfirmDialog(this, panel,
                 "Arc " + from + " → " + to, JOptionPane.OK_CANCEL_OPTION);
@@ -295,175 +1222,337 @@ class NetworkPanel extends JPanel {
             try {
                 int capacity = Integer.parseInt(capacityField.getText());
                 int flow = Integer.parseInt(flowField.getText());
+                int cost = Integer.parseInt(costField.getText());
 
                 if (capacity < 0 || flow < 0 || flow > capacity) {
                     JOptionPane.showMessageDialog(this, "Valori invalide! (capacitate ≥ 0, 0 ≤ flux ≤ capacitate)");
                     return;
                 }
 
-                edges.add(new Edge(from, to, capacity, flow, 0));
-                repaint();
+                Edge edge = graph.addEdge(from, to, capacity, flow, cost);
+                index.addEdge(edge, graph.node(from), graph.node(to));
+                version++;
+                parentFrame.edgeAdded(edge);
+                redraw();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Introduceți numere valide!");
             }
         }
     }
 
+    private void editEdge(Edge edge) {
+        JPanel panel = new JPanel(new GridLayout(2, 2, 5, 5));
+        JTextField capacityField = new JTextField(String.valueOf(edge.capacity));
+        JTextField costField = new JTextField(String.valueOf(edge.cost));
+        panel.add(new JLabel("Capacitate:"));
+        panel.add(capacityField);
+        panel.add(new JLabel("Cost unitar:"));
+        panel.add(costField);
+
+        int result = JOptionPane.showConfirmDialog(this, panel,
+                "Arc " + edge.from + " → " + edge.to, JOptionPane.OK_CANCEL_OPTION);
+        if (result != JOptionPane.OK_OPTION) return;
+
+        try {
+            int capacity = Integer.parseInt(capacityField.getText().trim());
+            int cost = Integer.parseInt(costField.getText().trim());
+            if (capacity < 0) {
+                JOptionPane.showMessageDialog(this, "Valori invalide! (capacitate ≥ 0)");
+                return;
+            }
+
+            if (cost != edge.cost) {
+                edge.cost = cost;
+                version++;
+                parentFrame.edgeCostChanged(edge.id, cost);
+            }
+            if (capacity != edge.capacity) {
+                edge.capacity = capacity;
+                edge.flow = Math.min(edge.flow, capacity);
+                version++;
+                parentFrame.edgeCapacityChanged(edge.id, capacity);
+            }
+            parentFrame.updateStatus("Arc modificat: " + edge.from + " → " + edge.to
+                    + " capacitate " + capacity + ", cost " + cost + " | Apăsați F pentru recalculare");
+            redraw();
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Introduceți numere valide!");
+        }
+    }
+
     private void deleteNode(Node node) {
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Ștergeți nodul " + node.id + " și toate arcele conectate?",
                 "Confirmare", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            // Șterge toate arcele care conțin acest nod
-            edges.removeIf(edge -> edge.from == node.id || edge.to == node.id);
-
-            // Șterge nodul
+            // Șterge nodul cu arcele lui; ultimul nod îi preia id-ul, iar
+            // rezultatul afișat folosea vechea numerotare
             int deletedId = node.id;
-            nodes.remove(node);
-
-            // Re-indexează nodurile și arcele
-            for (int i = 0; i < nodes.size(); i++) {
-                int oldId = nodes.get(i).id;
-                nodes.get(i).id = i;
-
-                // Actualizează arcele
-                for (Edge edge : edges) {
-                    if (edge.from == oldId) edge.from = i;
-                    if (edge.to == oldId) edge.to = i;
-                }
-            }
-
-            parentFrame.updateStatus("Nod " + deletedId + " șters");
-            repaint();
+            index.removeNode(node);
+            int moved = graph.removeNode(node);
+            result = null;
+            version++;
+
+            parentFrame.networkChanged();
+            parentFrame.updateStatus("Nod " + deletedId + " șters"
+                    + (moved >= 0 ? " | Nodul " + moved + " are acum id-ul " + deletedId : ""));
+            redraw();
         }
     }
 
     private Node findNode(int x, int y) {
-        for (Node node : nodes) {
-            if (node.contains(x, y)) {
-                return node;
-            }
+        return index.nodeAt(x, y);
+    }
+
+    // Dezactivează editarea cu mouse-ul cât timp rețeaua este folosită de un calcul
+    public void setEditingEnabled(boolean enabled) {
+        editingEnabled = enabled;
+        if (!enabled) {
+            draggedNode = null;
+            sourceNode = null;
+            dragPoint = null;
         }
-        return null;
     }
 
-    public void setFlows(Map<Edge, Integer> flows) {
-        this.flows = new HashMap<>(flows);
-        repaint();
+    // Fluxurile și tăietura de afișat; null revine la fluxurile din arce
+    public void setResult(FlowResult result) {
+        this.result = result;
+        resultByPair = false;
+        redraw();
     }
 
-    public void setMinCut(Set<Edge> minCut) {
-        this.minCut = new HashSet<>(minCut);
-        repaint();
+    void setResultByPair(FlowResult result) {
+        this.result = result;
+        resultByPair = true;
+        redraw();
     }
 
     public void resetFlow() {
-        flows.clear();
-        minCut.clear();
-        for (Edge edge : edges) {
+        result = null;
+        for (Edge edge : graph.edges()) {
             edge.flow = 0;
         }
+        version++;
+        parentFrame.networkChanged();
         parentFrame.updateStatus("Fluxuri resetate");
-        repaint();
+        redraw();
     }
 
     public void clear() {
-        nodes.clear();
-        edges.clear();
-        flows.clear();
-        minCut.clear();
+        graph.clear();
+        index.clear();
+        result = null;
+        version++;
+        parentFrame.networkChanged();
         parentFrame.updateStatus("Rețea ștearsă - Click pentru a adăuga noduri");
-        repaint();
+        redraw();
+    }
+
+    /**
+     * Rețeaua dintr-un fișier salvat, cu indexul ei spațial. Se construiește pe un
+     * fir din fundal: obiectele sunt noi și nu sunt văzute de panou până la load.
+     * Fără coordonate, nodurile sunt așezate într-o grilă.
+     */
+    static final class Loaded {
+        final GraphModel graph = new GraphModel();
+        final SpatialIndex index = new SpatialIndex();
+        // false dacă unele arce au fost omise (perechi repetate)
+        final boolean complete;
+
+        Loaded(NetworkSnapshot snapshot) {
+            int columns = (int) Math.ceil(Math.sqrt(snapshot.vertices));
+            for (int v = 0; v < snapshot.vertices; v++) {
+                if (snapshot.hasCoordinates()) {
+                    graph.addNode(snapshot.x[v], snapshot.y[v]);
+                } else {
+                    graph.addNode(60 + v % columns * 100, 60 + v / columns * 100);
+                }
+            }
+            boolean complete = true;
+            for (int e = 0; e < snapshot.edgeCount; e++) {
+                int from = snapshot.from[e], to = snapshot.to[e];
+                if (graph.findEdge(from, to) != null) {
+                    complete = false;
+                    continue;
+                }
+                graph.addEdge(from, to, snapshot.capacity[e], snapshot.initialFlow[e], snapshot.cost[e]);
+            }
+            this.complete = complete;
+            index.rebuild(graph);
+        }
     }
 
-    public List<Node> getNodes() { return nodes; }
-    public List<Edge> getEdges() { return edges; }
+    // Înlocuiește rețeaua cu cea încărcată; pe EDT rămâne doar schimbarea referințelor
+    void load(Loaded loaded) {
+        graph = loaded.graph;
+        index = loaded.index;
+        draggedNode = null;
+        sourceNode = null;
+        dragPoint = null;
+        result = null;
+        version++;
+        parentFrame.networkChanged();
+        redraw();
+    }
+
+    // Mută toate nodurile odată; indexul este reconstruit o singură dată
+    void setPositions(int[] x, int[] y) {
+        for (Node node : graph.nodes()) {
+            node.x = x[node.id];
+            node.y = y[node.id];
+        }
+        index.rebuild(graph);
+        redraw();
+    }
+
+    GraphModel getGraph() { return graph; }
+
+    long getVersion() { return version; }
+
+    private void redraw() {
+        layerValid = false;
+        repaint();
+    }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        // Desenare arce
-        for (Edge edge : edges) {
-            Node fromNode = nodes.get(edge.from);
-            Node toNode = nodes.get(edge.to);
+        int width = getWidth(), height = getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        // Imaginea are rezoluția ecranului (scalarea HiDPI a transformării curente)
+        AffineTransform transform = g2.getTransform();
+        double scaleX = transform.getScaleX(), scaleY = transform.getScaleY();
+        int layerWidth = (int) Math.ceil(width * scaleX);
+        int layerHeight = (int) Math.ceil(height * scaleY);
+        if (layer == null || layer.getWidth() != layerWidth || layer.getHeight() != layerHeight) {
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            layer = gc != null
+                    ? gc.createCompatibleImage(layerWidth, layerHeight, Transparency.OPAQUE)
+                    : new BufferedImage(layerWidth, layerHeight, BufferedImage.TYPE_INT_RGB);
+            layerValid = false;
+        }
+        if (!layerValid) {
+            renderLayer(width, height, scaleX, scaleY);
+            layerValid = true;
+        }
+        g2.drawImage(layer, 0, 0, width, height, null);
 
-            boolean isMinCut = minCut.contains(edge);
-            int currentFlow = flows.getOrDefault(edge, edge.flow);
+        // Desenare linie de drag (când tragem de pe un nod) peste stratul static
+        if (draggedNode != null && dragPoint != null && sourceNode != null) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(DRAG_COLOR);
+            g2.setStroke(DRAG_STROKE);
+            g2.drawLine(sourceNode.x, sourceNode.y, dragPoint.x, dragPoint.y);
+            drawNode(g2, draggedNode, Color.YELLOW, true);
+        }
+    }
 
-            g2.setColor(isMinCut ? Color.RED : Color.BLACK);
-            g2.setStroke(new BasicStroke(isMinCut ? 3 : 2));
+    // Arcele adăugate după calcul nu au încă un flux în rezultat
+    private int resultEdge(Edge edge) {
+        return edge.id < result.getEdgeCount() ? edge.id : -1;
+    }
 
-            drawArrow(g2, fromNode.x, fromNode.y, toNode.x, toNode.y);
+    // Desenează în strat doar arcele și nodurile din zona vizibilă
+    private void renderLayer(int width, int height, double scaleX, double scaleY) {
+        Graphics2D g2 = layer.createGraphics();
+        try {
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+            g2.scale(scaleX, scaleY);
 
-            // Label cu capacitate/flux
-            int midX = (fromNode.x + toNode.x) / 2;
-            int midY = (fromNode.y + toNode.y) / 2;
+            List<Edge> visibleEdges = index.edgesIn(0, 0, width, height);
+            List<Node> visibleNodes = index.nodesIn(0, 0, width, height);
+            boolean edgeDetail = visibleEdges.size() <= DETAIL_EDGES;
+            boolean nodeDetail = visibleNodes.size() <= DETAIL_NODES;
 
-            String label = currentFlow + "/" + edge.capacity;
+            // Fără detalii, liniile se desenează și fără antialiasing
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, edgeDetail
+                    ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
 
-            g2.setColor(Color.BLUE);
-            g2.setFont(new Font("Arial", Font.BOLD, 12));
+            // Desenare arce
+            g2.setFont(EDGE_FONT);
             FontMetrics fm = g2.getFontMetrics();
-            int labelWidth = fm.stringWidth(label);
+            for (Edge edge : visibleEdges) {
+                Node fromNode = graph.node(edge.from);
+                Node toNode = graph.node(edge.to);
+
+                int id = result == null ? -1 : resultByPair ? result.findEdge(edge.from, edge.to) : resultEdge(edge);
+                boolean isMinCut = id >= 0 && result.isCutEdge(id);
+                g2.setColor(isMinCut ? Color.RED : Color.BLACK);
+                g2.setStroke(isMinCut ? CUT_STROKE : EDGE_STROKE);
+                drawArrow(g2, fromNode.x, fromNode.y, toNode.x, toNode.y, edgeDetail);
+
+                if (!edgeDetail) continue;
+
+                // Label cu capacitate/flux
+                int midX = (fromNode.x + toNode.x) / 2;
+                int midY = (fromNode.y + toNode.y) / 2;
+                String label = (id >= 0 ? result.getFlow(id) : edge.flow) + "/" + edge.capacity;
+                if (edge.cost != 0) {
+                    label += " c" + edge.cost;
+                }
 
-            // Dreptunghi alb în spate pentru lizibilitate
-            g2.setColor(Color.WHITE);
-            g2.fillRect(midX + 3, midY - 15, labelWidth + 4, 16);
+                // Dreptunghi alb în spate pentru lizibilitate
+                g2.setColor(Color.WHITE);
+                g2.fillRect(midX + 3, midY - 15, fm.stringWidth(label) + 4, 16);
 
-            g2.setColor(Color.BLUE);
-            g2.drawString(label, midX + 5, midY - 5);
-        }
+                g2.setColor(Color.BLUE);
+                g2.drawString(label, midX + 5, midY - 5);
+            }
 
-        // Desenare linie de drag (când tragem de pe un nod)
-        if (draggedNode != null && dragPoint != null && sourceNode != null) {
-            g2.setColor(new Color(100, 100, 100, 150));
-            g2.setStroke(new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{9}, 0));
-            g2.drawLine(sourceNode.x, sourceNode.y, dragPoint.x, dragPoint.y);
+            // Desenare noduri
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            for (Node node : visibleNodes) {
+                drawNode(g2, node, Color.LIGHT_GRAY, nodeDetail);
+            }
+        } finally {
+            g2.dispose();
         }
+    }
 
-        // Desenare noduri
-        for (Node node : nodes) {
-            if (node == draggedNode) {
-                g2.setColor(Color.YELLOW);
-            } else {
-                g2.setColor(Color.LIGHT_GRAY);
-            }
-            g2.fillOval(node.x - Node.RADIUS, node.y - Node.RADIUS,
-                    2 * Node.RADIUS, 2 * Node.RADIUS);
+    private void drawNode(Graphics2D g2, Node node, Color fill, boolean showId) {
+        g2.setColor(fill);
+        g2.fillOval(node.x - Node.RADIUS, node.y - Node.RADIUS,
+                2 * Node.RADIUS, 2 * Node.RADIUS);
 
-            g2.setColor(Color.BLACK);
-            g2.setStroke(new BasicStroke(2));
-            g2.drawOval(node.x - Node.RADIUS, node.y - Node.RADIUS,
-                    2 * Node.RADIUS, 2 * Node.RADIUS);
+        g2.setColor(Color.BLACK);
+        g2.setStroke(EDGE_STROKE);
+        g2.drawOval(node.x - Node.RADIUS, node.y - Node.RADIUS,
+                2 * Node.RADIUS, 2 * Node.RADIUS);
 
-            g2.setFont(new Font("Arial", Font.BOLD, 16));
+        if (showId) {
+            g2.setFont(NODE_FONT);
             FontMetrics fm = g2.getFontMetrics();
             String id = String.valueOf(node.id);
             g2.drawString(id, node.x - fm.stringWidth(id)/2, node.y + fm.getAscent()/2 - 2);
         }
     }
 
-    private void drawArrow(Graphics2D g2, int x1, int y1, int x2, int y2) {
-        double angle = Math.atan2(y2 - y1, x2 - x1);
+    private void drawArrow(Graphics2D g2, int x1, int y1, int x2, int y2, boolean head) {
+        // Direcția arcului ca vector unitar, fără atan2/cos/sin pe fiecare arc
+        double dx = x2 - x1, dy = y2 - y1;
+        double length = Math.sqrt(dx * dx + dy * dy);
+        if (length == 0) return;
+        double ux = dx / length, uy = dy / length;
 
-        int startX = (int)(x1 + Node.RADIUS * Math.cos(angle));
-        int startY = (int)(y1 + Node.RADIUS * Math.sin(angle));
-        int endX = (int)(x2 - Node.RADIUS * Math.cos(angle));
-        int endY = (int)(y2 - Node.RADIUS * Math.sin(angle));
+        int startX = (int)(x1 + Node.RADIUS * ux);
+        int startY = (int)(y1 + Node.RADIUS * uy);
+        int endX = (int)(x2 - Node.RADIUS * ux);
+        int endY = (int)(y2 - Node.RADIUS * uy);
 
         g2.drawLine(startX, startY, endX, endY);
+        if (!head) return;
 
-        int arrowSize = 10;
-        int dx = (int)(arrowSize * Math.cos(angle - Math.PI / 6));
-        int dy = (int)(arrowSize * Math.sin(angle - Math.PI / 6));
-        g2.drawLine(endX, endY, endX - dx, endY - dy);
+        // Laturile vârfului: direcția rotită cu ±30°
+        int hx = (int)(ARROW_SIZE * (ux * COS30 + uy * SIN30));
+        int hy = (int)(ARROW_SIZE * (uy * COS30 - ux * SIN30));
+        g2.drawLine(endX, endY, endX - hx, endY - hy);
 
-        dx = (int)(arrowSize * Math.cos(angle + Math.PI / 6));
-        dy = (int)(arrowSize * Math.sin(angle + Math.PI / 6));
-        g2.drawLine(endX, endY, endX - dx, endY - dy);
+        hx = (int)(ARROW_SIZE * (ux * COS30 - uy * SIN30));
+        hy = (int)(ARROW_SIZE * (uy * COS30 + ux * SIN30));
+        g2.drawLine(endX, endY, endX - hx, endY - hy);
     }
 }
\ No newline at end of file
@@ -0,0 +1,395 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Graful rezidual CSR ținut în fișiere mapate în memorie, pentru rețele mai
+ * mari decât heap-ul. Pe heap rămân doar tablourile per nod (start și cele
+ * ale algoritmului); arcele și muchiile stau în afara heap-ului:
+ *
+ * - arcele, câte o înregistrare de 16 octeți (capăt, capacitate, flux, arcul
+ *   invers), ordonate după nodul de plecare ca în ResidualGraph, deci arcele
+ *   unui nod sunt contigue și parcurse secvențial;
+ * - muchiile originale (from, to, capacitate, arcul direct), în ordinea din
+ *   fișierul de intrare, folosite la scrierea soluției.
+ *
+ * Fișierele sunt mapate pe segmente de 1 GB (un MappedByteBuffer are cel mult
+ * 2 GB) și sunt șterse la close. Paginile sunt încărcate de sistemul de
+ * operare la cerere, deci memoria fizică folosită nu este limitată de -Xmx.
+ */
+final class MappedResidualGraph implements ResidualArcs, AutoCloseable {
+    private static final int HEAD = 0, CAPACITY = 1, FLOW = 2, REVERSE = 3;
+
+    // Înregistrări de 4 int-uri pe segment: 2^26 * 16 octeți = 1 GB
+    private static final int SHIFT = 26;
+    private static final int MASK = (1 << SHIFT) - 1;
+
+    // Fereastra de arce completată dintr-un fișier temporar: 2^24 arce = 256 MB
+    private static final int WINDOW_SHIFT = 24;
+
+    final int vertices;
+    final int edgeCount;
+    final int[] start;
+
+    private final FileChannel arcChannel, edgeChannel;
+    private final IntBuffer[] arcs, edges;
+
+    private MappedResidualGraph(int vertices, int edgeCount, int[] start, FileChannel arcChannel, IntBuffer[] arcs,
+                                FileChannel edgeChannel, IntBuffer[] edges) {
+        this.vertices = vertices;
+        this.edgeCount = edgeCount;
+        this.start = start;
+        this.arcChannel = arcChannel;
+        this.arcs = arcs;
+        this.edgeChannel = edgeChannel;
+        this.edges = edges;
+    }
+
+    static Builder builder(Path directory, int vertices, int edgeCount) throws IOException {
+        return new Builder(directory, vertices, edgeCount);
+    }
+
+    @Override
+    public int[] start() {
+        return start;
+    }
+
+    @Override
+    public int head(int arc) {
+        return arcs[arc >>> SHIFT].get(((arc & MASK) << 2) + HEAD);
+    }
+
+    int capacity(int arc) {
+        return arcs[arc >>> SHIFT].get(((arc & MASK) << 2) + CAPACITY);
+    }
+
+    int flow(int arc) {
+        return arcs[arc >>> SHIFT].get(((arc & MASK) << 2) + FLOW);
+    }
+
+    int reverse(int arc) {
+        return arcs[arc >>> SHIFT].get(((arc & MASK) << 2) + REVERSE);
+    }
+
+    @Override
+    public int residual(int arc) {
+        IntBuffer segment = arcs[arc >>> SHIFT];
+        int i = (arc & MASK) << 2;
+        return segment.get(i + CAPACITY) - segment.get(i + FLOW);
+    }
+
+    @Override
+    public int tail(int arc) {
+        return head(reverse(arc));
+    }
+
+    @Override
+    public void push(int arc, int amount) {
+        IntBuffer segment = arcs[arc >>> SHIFT];
+        int i = (arc & MASK) << 2;
+        segment.put(i + FLOW, segment.get(i + FLOW) + amount);
+        int reverse = segment.get(i + REVERSE);
+        IntBuffer other = arcs[reverse >>> SHIFT];
+        int j = (reverse & MASK) << 2;
+        other.put(j + FLOW, other.get(j + FLOW) - amount);
+    }
+
+    int getEdgeFrom(int edge) {
+        return edges[edge >>> SHIFT].get((edge & MASK) << 2);
+    }
+
+    int getEdgeTo(int edge) {
+        return edges[edge >>> SHIFT].get(((edge & MASK) << 2) + 1);
+    }
+
+    int getEdgeCapacity(int edge) {
+        return edges[edge >>> SHIFT].get(((edge & MASK) << 2) + 2);
+    }
+
+    int getEdgeFlow(int edge) {
+        return flow(edges[edge >>> SHIFT].get(((edge & MASK) << 2) + 3));
+    }
+
+    // Nodurile accesibile din sursă în graful rezidual: partea sursei a tăieturii minime
+    BitSet reachable(int source) {
+        BitSet seen = new BitSet(vertices);
+        int[] queue = new int[vertices];
+        int qHead = 0, qTail = 0;
+        queue[qTail++] = source;
+        seen.set(source);
+        while (qHead < qTail) {
+            int u = queue[qHead++];
+            for (int a = start[u], end = start[u + 1]; a < end; a++) {
+                int v = head(a);
+                if (!seen.get(v) && residual(a) > 0) {
+                    seen.set(v);
+                    queue[qTail++] = v;
+                }
+            }
+        }
+        return seen;
+    }
+
+    // Muchiile originale cu capătul de plecare în partea sursei și celălalt în afara ei
+    int[] cutEdges(BitSet sourceSide) {
+        int count = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (isCutEdge(sourceSide, e)) count++;
+        }
+        int[] cut = new int[count];
+        count = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (isCutEdge(sourceSide, e)) cut[count++] = e;
+        }
+        return cut;
+    }
+
+    // Ca în FordFulkerson, muchiile de capacitate 0 nu fac parte din tăietură
+    private boolean isCutEdge(BitSet sourceSide, int edge) {
+        return sourceSide.get(getEdgeFrom(edge)) && !sourceSide.get(getEdgeTo(edge)) && getEdgeCapacity(edge) > 0;
+    }
+
+    // Fișierele sunt deschise cu DELETE_ON_CLOSE; maparea rămâne validă până la colectarea ei
+    @Override
+    public void close() throws IOException {
+        try {
+            arcChannel.close();
+        } finally {
+            edgeChannel.close();
+        }
+    }
+
+    private static IntBuffer[] map(FileChannel channel, long records) throws IOException {
+        int segments = (int) ((records + MASK) >>> SHIFT);
+        IntBuffer[] buffers = new IntBuffer[segments];
+        for (int s = 0; s < segments; s++) {
+            long first = (long) s << SHIFT;
+            long size = Math.min(records - first, 1L << SHIFT) * 16;
+            buffers[s] = channel.map(FileChannel.MapMode.READ_WRITE, first * 16, size)
+                    .order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return buffers;
+    }
+
+    /**
+     * Construcția din lista de muchii (tot mapată): o trecere numără gradele
+     * nodurilor pentru start, apoi o singură trecere atribuie fiecărei muchii
+     * arcul direct și pe cel invers. Pe heap se alocă doar O(noduri).
+     */
+    static final class Builder implements AutoCloseable {
+        private final Path directory;
+        private final int vertices, edgeCount;
+        private final FileChannel edgeChannel;
+        private final IntBuffer[] edges;
+        private int added;
+        private boolean built;
+
+        private Builder(Path directory, int vertices, int edgeCount) throws IOException {
+            if (vertices < 0 || edgeCount < 0 || edgeCount > (Integer.MAX_VALUE >> 1)) {
+                throw new IllegalArgumentException("Rețea prea mare: " + vertices + " noduri, " + edgeCount + " muchii");
+            }
+            this.directory = directory;
+            this.vertices = vertices;
+            this.edgeCount = edgeCount;
+            edgeChannel = open(directory, "muchii");
+            edges = map(edgeChannel, edgeCount);
+        }
+
+        int getVertexCount() {
+            return vertices;
+        }
+
+        void addEdge(int from, int to, int capacity) {
+            if (added == edgeCount) {
+                throw new IllegalStateException("Mai multe muchii decât cele anunțate: " + edgeCount);
+            }
+            if (from < 0 || from >= vertices || to < 0 || to >= vertices) {
+                throw new IndexOutOfBoundsException("Muchie invalidă: " + from + " -> " + to);
+            }
+            if (capacity < 0) {
+                throw new IllegalArgumentException("Capacitate negativă: " + capacity);
+            }
+            IntBuffer segment = edges[added >>> SHIFT];
+            int i = (added & MASK) << 2;
+            segment.put(i, from);
+            segment.put(i + 1, to);
+            segment.put(i + 2, capacity);
+            added++;
+        }
+
+        MappedResidualGraph build() throws IOException {
+            return build(WINDOW_SHIFT);
+        }
+
+        // Ferestre de 2^windowShift arce; cele mici sunt folosite doar la verificări
+        MappedResidualGraph build(int windowShift) throws IOException {
+            if (added != edgeCount) {
+                throw new IllegalStateException("Muchii adăugate: " + added + " din " + edgeCount);
+            }
+            int[] start = new int[vertices + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                IntBuffer segment = edges[e >>> SHIFT];
+                int i = (e & MASK) << 2;
+                start[segment.get(i) + 1]++;
+                start[segment.get(i + 1) + 1]++;
+            }
+            for (int u = 0; u < vertices; u++) {
+                start[u + 1] += start[u];
+            }
+
+            // Scrise direct, arcele ar ajunge în pagini aleatoare din tot fișierul.
+            // Peste o fereastră, ele sunt întâi adăugate secvențial în fișierul
+            // temporar al ferestrei lor, apoi fiecare fereastră este completată
+            // separat, deci paginile modificate la un moment dat sunt puține
+            FileChannel arcChannel = open(directory, "arce");
+            try {
+                IntBuffer[] arcs = map(arcChannel, 2L * edgeCount);
+                int windows = (int) ((2L * edgeCount + (1L << windowShift) - 1) >>> windowShift);
+                try (Spill spill = windows > 1 ? new Spill(directory, windows, windowShift) : null) {
+                    int[] next = Arrays.copyOf(start, vertices);
+                    for (int e = 0; e < edgeCount; e++) {
+                        IntBuffer segment = edges[e >>> SHIFT];
+                        int i = (e & MASK) << 2;
+                        int from = segment.get(i), to = segment.get(i + 1), capacity = segment.get(i + 2);
+                        int a = next[from]++;
+                        int b = next[to]++;
+                        segment.put(i + 3, a);
+                        if (spill == null) {
+                            write(arcs, a, to, capacity, b);
+                            write(arcs, b, from, 0, a);
+                        } else {
+                            spill.add(a, to, capacity, b);
+                            spill.add(b, from, 0, a);
+                        }
+                    }
+                    if (spill != null) {
+                        spill.drain(arcs);
+                    }
+                }
+                built = true;
+                return new MappedResidualGraph(vertices, edgeCount, start, arcChannel, arcs, edgeChannel, edges);
+            } finally {
+                if (!built) {
+                    arcChannel.close();
+                }
+            }
+        }
+
+        // Renunță la construcție; după build fișierul muchiilor aparține grafului
+        @Override
+        public void close() throws IOException {
+            if (!built) {
+                edgeChannel.close();
+            }
+        }
+
+        private static void write(IntBuffer[] arcs, int arc, int head, int capacity, int reverse) {
+            IntBuffer segment = arcs[arc >>> SHIFT];
+            int i = (arc & MASK) << 2;
+            segment.put(i + HEAD, head);
+            segment.put(i + CAPACITY, capacity);
+            segment.put(i + FLOW, 0);
+            segment.put(i + REVERSE, reverse);
+        }
+
+        private static FileChannel open(Path directory, String name) throws IOException {
+            Path file = Files.createTempFile(directory, name + "-", ".bin");
+            return FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+    /**
+     * Câte un fișier temporar per fereastră de arce, scris secvențial prin
+     * buffere mici; înregistrările sunt (arc, capăt, capacitate, arc invers).
+     */
+    private static final class Spill implements AutoCloseable {
+        private static final int BUFFER = 1 << 16;
+
+        private final int shift;
+        private final FileChannel[] files;
+        private final ByteBuffer[] buffers;
+
+        Spill(Path directory, int windows, int shift) throws IOException {
+            this.shift = shift;
+            files = new FileChannel[windows];
+            buffers = new ByteBuffer[windows];
+            try {
+                for (int w = 0; w < windows; w++) {
+                    files[w] = Builder.open(directory, "fereastra");
+                    buffers[w] = ByteBuffer.allocate(BUFFER).order(ByteOrder.nativeOrder());
+                }
+            } catch (IOException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        void add(int arc, int head, int capacity, int reverse) throws IOException {
+            int w = arc >>> shift;
+            ByteBuffer buffer = buffers[w];
+            if (!buffer.hasRemaining()) {
+                flush(w);
+            }
+            buffer.putInt(arc).putInt(head).putInt(capacity).putInt(reverse);
+        }
+
+        // Completează fereastră după fereastră; fișierul fiecăreia este închis (șters) imediat
+        void drain(IntBuffer[] arcs) throws IOException {
+            ByteBuffer read = ByteBuffer.allocate(BUFFER << 4).order(ByteOrder.nativeOrder());
+            for (int w = 0; w < files.length; w++) {
+                flush(w);
+                buffers[w] = null;
+                FileChannel file = files[w];
+                long position = 0;
+                while (true) {
+                    read.clear();
+                    int n = file.read(read, position);
+                    if (n <= 0) break;
+                    position += n;
+                    read.flip();
+                    while (read.remaining() >= 16) {
+                        Builder.write(arcs, read.getInt(), read.getInt(), read.getInt(), read.getInt());
+                    }
+                    // Înregistrările au 16 octeți; o citire scurtă se reia de la cea incompletă
+                    position -= read.remaining();
+                }
+                file.close();
+                files[w] = null;
+            }
+        }
+
+        private void flush(int w) throws IOException {
+            ByteBuffer buffer = buffers[w];
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                files[w].write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (FileChannel file : files) {
+                if (file == null) continue;
+                try {
+                    file.close();
+                } catch (IOException ex) {
+                    failure = ex;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
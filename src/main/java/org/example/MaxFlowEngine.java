@@ -0,0 +1,11 @@
+package org.example;
+
+/**
+ * Algoritm de flux maxim care lucrează direct pe graful rezidual.
+ * Implementările modifică fluxurile din graf pe loc și returnează
+ * fluxul suplimentar trimis de la sursă la destinație. După fiecare pas
+ * apelează monitor.step, care poate opri calculul cu CancellationException.
+ */
+interface MaxFlowEngine {
+    long maxFlow(ResidualGraph graph, int source, int sink, FlowMonitor monitor);
+}
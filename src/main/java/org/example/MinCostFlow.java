@@ -0,0 +1,175 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Flux maxim de cost minim prin drumuri minime succesive (successive shortest
+ * paths). Costurile arcelor sunt transformate cu potențiale Johnson, astfel
+ * încât costurile reduse c(u, v) + p(u) - p(v) să fie nenegative și fiecare
+ * drum minim să poată fi găsit cu Dijkstra pe un heap indexat.
+ *
+ * Potențialele inițiale vin din Bellman-Ford (doar dacă există arce reziduale
+ * cu cost negativ). Dijkstra se oprește când scoate destinația din heap, iar
+ * potențialele sunt actualizate numai pentru nodurile deja fixate; celelalte
+ * primesc implicit distanța destinației, ceea ce păstrează costurile reduse
+ * nenegative. Distanțele sunt marcate cu generația căutării, deci bucla nu
+ * alocă memorie și nu reinițializează tablouri de mărime V.
+ */
+class MinCostFlow implements MaxFlowEngine {
+    private final long[] potential;
+    private final long[] dist;
+    private final int[] parentArc;
+    private final int[] seen;
+    private final int[] settled;
+    private final IndexedHeap heap;
+    private int generation;
+
+    MinCostFlow(int vertices) {
+        potential = new long[vertices];
+        dist = new long[vertices];
+        parentArc = new int[vertices];
+        seen = new int[vertices];
+        settled = new int[vertices];
+        heap = new IndexedHeap(vertices);
+    }
+
+    @Override
+    public long maxFlow(ResidualGraph g, int source, int sink, FlowMonitor monitor) {
+        initPotentials(g, source);
+
+        long total = 0;
+        SolverStats stats = monitor.stats();
+        while (true) {
+            boolean found = shortestPath(g, source, sink, stats);
+            if (stats != null) {
+                stats.searches++;
+            }
+            if (!found) {
+                break;
+            }
+
+            int pathFlow = Integer.MAX_VALUE;
+            int length = 0;
+            for (int v = sink; v != source; v = g.tail(parentArc[v])) {
+                pathFlow = Math.min(pathFlow, g.residual(parentArc[v]));
+                length++;
+            }
+            if (stats != null) {
+                stats.augmentingPaths++;
+                stats.recordPath(length);
+            }
+            for (int v = sink; v != source; v = g.tail(parentArc[v])) {
+                g.push(parentArc[v], pathFlow);
+            }
+            total += pathFlow;
+            monitor.step(total);
+        }
+        return total;
+    }
+
+    // Bellman-Ford cu coadă (SPFA) din sursă; fără arce negative potențialele rămân 0
+    private void initPotentials(ResidualGraph g, int source) {
+        Arrays.fill(potential, 0);
+
+        boolean negative = false;
+        for (int a = 0; a < g.arcCount() && !negative; a++) {
+            negative = g.cost[a] < 0 && g.residual(a) > 0;
+        }
+        if (!negative) {
+            return;
+        }
+
+        int n = potential.length;
+        long[] d = dist;
+        int[] queue = settled;
+        int[] relaxations = parentArc;
+        boolean[] inQueue = new boolean[n];
+        Arrays.fill(d, Long.MAX_VALUE);
+        Arrays.fill(relaxations, 0);
+
+        int qHead = 0, qSize = 0;
+        d[source] = 0;
+        queue[qSize++] = source;
+        inQueue[source] = true;
+        while (qSize > 0) {
+            int u = queue[qHead];
+            qHead = qHead + 1 == n ? 0 : qHead + 1;
+            qSize--;
+            inQueue[u] = false;
+
+            for (int a = g.start[u], end = g.start[u + 1]; a < end; a++) {
+                if (g.capacity[a] <= g.flow[a]) continue;
+                int v = g.head[a];
+                long nd = d[u] + g.cost[a];
+                if (nd < d[v]) {
+                    d[v] = nd;
+                    if (!inQueue[v]) {
+                        if (++relaxations[v] >= n) {
+                            throw new IllegalStateException("Graful rezidual conține un ciclu de cost negativ");
+                        }
+                        inQueue[v] = true;
+                        queue[(qHead + qSize++) % n] = v;
+                    }
+                }
+            }
+        }
+
+        // Nodurile neaccesibile nu vor deveni accesibile, potențialul lor nu contează
+        for (int v = 0; v < n; v++) {
+            potential[v] = d[v] == Long.MAX_VALUE ? 0 : d[v];
+        }
+    }
+
+    // Dijkstra pe costurile reduse; actualizează potențialele nodurilor fixate
+    private boolean shortestPath(ResidualGraph g, int source, int sink, SolverStats stats) {
+        int gen = ++generation;
+        int settledCount = 0;
+        long scanned = 0;
+        heap.clear();
+
+        dist[source] = 0;
+        seen[source] = gen;
+        heap.insert(source, 0);
+
+        boolean found = false;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled[settledCount++] = u;
+            if (u == sink) {
+                found = true;
+                break;
+            }
+
+            long base = dist[u] + potential[u];
+            scanned += g.start[u + 1] - g.start[u];
+            for (int a = g.start[u], end = g.start[u + 1]; a < end; a++) {
+                if (g.capacity[a] <= g.flow[a]) continue;
+                int v = g.head[a];
+                long nd = base + g.cost[a] - potential[v];
+                if (seen[v] != gen) {
+                    seen[v] = gen;
+                    dist[v] = nd;
+                    parentArc[v] = a;
+                    heap.insert(v, nd);
+                } else if (nd < dist[v] && heap.contains(v)) {
+                    dist[v] = nd;
+                    parentArc[v] = a;
+                    heap.decreaseKey(v, nd);
+                }
+            }
+        }
+
+        if (stats != null) {
+            stats.arcsScanned += scanned;
+        }
+        if (!found) {
+            return false;
+        }
+        long reach = dist[sink];
+        for (int i = 0; i < settledCount; i++) {
+            int v = settled[i];
+            potential[v] += dist[v] - reach;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,298 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Reducerea rețelei înaintea calculului s-t, fără a schimba fluxul maxim:
+ *
+ * - arcele de capacitate 0, buclele, arcele care intră în sursă sau ies din
+ *   destinație și nodurile care nu sunt pe niciun drum s-t sunt eliminate;
+ * - arcele paralele u -> v sunt comasate într-unul cu suma capacităților;
+ * - un nod cu exact un arc de intrare u -> v și unul de ieșire v -> w este
+ *   scos, iar cele două arce devin u -> w cu capacitatea minimă (lanțurile
+ *   lungi se contractă nod cu nod); dacă u = w, cele două arce formează un
+ *   ciclu inutil și sunt eliminate.
+ *
+ * Comasarea și contractarea se repetă cât timp mai schimbă ceva. Fiecare arc
+ * redus corespunde unui arbore de compoziție serie/paralel peste muchiile
+ * originale, folosit de mapFlows pentru a distribui fluxul înapoi.
+ */
+class NetworkReduction {
+    // Nodurile arborelui: 0..edgeCount-1 sunt muchiile originale, restul compuneri
+    private final int edgeCount;
+    private final int[] edgeCapacity;
+    private int[] left = new int[16], right = new int[16], composedCapacity = new int[16];
+    private boolean[] series = new boolean[16];
+    private int composedCount;
+
+    // Rețeaua redusă, cu nodurile renumerotate 0..reducedVertices-1
+    final int reducedVertices;
+    final int reducedEdges;
+    final int[] from, to, capacity;
+    final int source, sink;
+    private final int[] tree;
+
+    final ReductionReport report;
+
+    private NetworkReduction(int vertices, int edgeCount, int[] edgeFrom, int[] edgeTo,
+                             int[] edgeCapacity, int s, int t, long startNanos) {
+        this.edgeCount = edgeCount;
+        this.edgeCapacity = edgeCapacity;
+
+        // 1. Nodurile de pe un drum s-t: accesibile din s (fără a trece prin t)
+        //    și din care se ajunge la t (fără a trece prin s)
+        boolean[] forward = reach(vertices, edgeCount, edgeFrom, edgeTo, edgeCapacity, s, t);
+        boolean[] backward = reach(vertices, edgeCount, edgeTo, edgeFrom, edgeCapacity, t, s);
+        int unreachable = 0, deadEnds = 0;
+        for (int v = 0; v < vertices; v++) {
+            if (!forward[v]) unreachable++;
+            else if (!backward[v]) deadEnds++;
+        }
+
+        int[] arcFrom = new int[edgeCount], arcTo = new int[edgeCount];
+        int[] arcCapacity = new int[edgeCount], arcNode = new int[edgeCount];
+        int arcs = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int u = edgeFrom[e], v = edgeTo[e];
+            if (edgeCapacity[e] > 0 && u != v && u != t && v != s
+                    && forward[u] && backward[u] && forward[v] && backward[v]) {
+                arcFrom[arcs] = u;
+                arcTo[arcs] = v;
+                arcCapacity[arcs] = edgeCapacity[e];
+                arcNode[arcs] = e;
+                arcs++;
+            }
+        }
+        int useless = edgeCount - arcs;
+
+        // 2. Comasare și contractare până la punct fix
+        boolean[] alive = new boolean[arcs];
+        Arrays.fill(alive, true);
+        int merged = 0, contracted = 0, cycles = 0;
+        int[] inDegree = new int[vertices], outDegree = new int[vertices];
+        int[] inArc = new int[vertices], outArc = new int[vertices];
+        boolean[] skip = new boolean[vertices];
+        int[] order = new int[arcs], count = new int[vertices + 1], buffer = new int[arcs];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            // Sortare stabilă după (from, to) cu două treceri de numărare
+            int live = 0;
+            for (int a = 0; a < arcs; a++) {
+                if (alive[a]) order[live++] = a;
+            }
+            countingSort(order, buffer, live, arcTo, count);
+            countingSort(buffer, order, live, arcFrom, count);
+            for (int i = 0; i < live; ) {
+                int a = order[i];
+                int j = i + 1;
+                while (j < live && arcFrom[order[j]] == arcFrom[a] && arcTo[order[j]] == arcTo[a]) {
+                    int b = order[j];
+                    // Suma trebuie să încapă într-un int; altfel arcul rămâne separat
+                    if ((long) arcCapacity[a] + arcCapacity[b] <= Integer.MAX_VALUE) {
+                        arcNode[a] = compose(false, arcNode[a], arcNode[b], arcCapacity[a] + arcCapacity[b]);
+                        arcCapacity[a] += arcCapacity[b];
+                        alive[b] = false;
+                        merged++;
+                        changed = true;
+                    } else {
+                        a = b;
+                    }
+                    j++;
+                }
+                i = j;
+            }
+
+            Arrays.fill(inDegree, 0);
+            Arrays.fill(outDegree, 0);
+            Arrays.fill(skip, false);
+            for (int a = 0; a < arcs; a++) {
+                if (!alive[a]) continue;
+                outDegree[arcFrom[a]]++;
+                outArc[arcFrom[a]] = a;
+                inDegree[arcTo[a]]++;
+                inArc[arcTo[a]] = a;
+            }
+            for (int v = 0; v < vertices; v++) {
+                if (v == s || v == t || skip[v] || inDegree[v] != 1 || outDegree[v] != 1) continue;
+                int a = inArc[v], b = outArc[v];
+                int u = arcFrom[a], w = arcTo[b];
+                alive[a] = false;
+                inDegree[v] = outDegree[v] = 0;
+                changed = true;
+                if (u == w) {
+                    // u -> v -> u nu poate duce flux spre destinație
+                    alive[b] = false;
+                    outDegree[u]--;
+                    inDegree[u]--;
+                    skip[u] = true;
+                    cycles++;
+                    continue;
+                }
+
+                // Arcul b devine u -> w; u și w își păstrează gradele
+                arcNode[b] = compose(true, arcNode[a], arcNode[b], Math.min(arcCapacity[a], arcCapacity[b]));
+                arcCapacity[b] = Math.min(arcCapacity[a], arcCapacity[b]);
+                arcFrom[b] = u;
+                outArc[u] = b;
+                contracted++;
+            }
+        }
+
+        // 3. Renumerotarea nodurilor rămase; s și t rămân mereu
+        int[] id = new int[vertices];
+        Arrays.fill(id, -1);
+        int n = 0;
+        id[s] = n++;
+        id[t] = n++;
+        int m = 0;
+        for (int a = 0; a < arcs; a++) {
+            if (!alive[a]) continue;
+            if (id[arcFrom[a]] < 0) id[arcFrom[a]] = n++;
+            if (id[arcTo[a]] < 0) id[arcTo[a]] = n++;
+            m++;
+        }
+        reducedVertices = n;
+        reducedEdges = m;
+        from = new int[m];
+        to = new int[m];
+        capacity = new int[m];
+        tree = new int[m];
+        m = 0;
+        for (int a = 0; a < arcs; a++) {
+            if (!alive[a]) continue;
+            from[m] = id[arcFrom[a]];
+            to[m] = id[arcTo[a]];
+            capacity[m] = arcCapacity[a];
+            tree[m] = arcNode[a];
+            m++;
+        }
+        source = id[s];
+        sink = id[t];
+
+        report = new ReductionReport(vertices, edgeCount, unreachable, deadEnds, useless,
+                contracted, cycles, merged, reducedVertices, reducedEdges, System.nanoTime() - startNanos);
+    }
+
+    static NetworkReduction reduce(int vertices, int edgeCount, int[] from, int[] to, int[] capacity,
+                                   int source, int sink) {
+        return new NetworkReduction(vertices, edgeCount, from, to, capacity, source, sink, System.nanoTime());
+    }
+
+    // BFS din root pe muchiile near[e] -> far[e] cu capacitate pozitivă, fără a continua
+    // din stop; cu tablourile inversate parcurge rețeaua transpusă
+    private static boolean[] reach(int vertices, int edgeCount, int[] near, int[] far, int[] capacity,
+                                   int root, int stop) {
+        int[] start = new int[vertices + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            if (capacity[e] > 0) start[near[e] + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] adjacent = new int[start[vertices]];
+        int[] next = Arrays.copyOf(start, vertices);
+        for (int e = 0; e < edgeCount; e++) {
+            if (capacity[e] > 0) adjacent[next[near[e]]++] = far[e];
+        }
+
+        boolean[] seen = new boolean[vertices];
+        int[] queue = next;
+        int qHead = 0, qTail = 0;
+        queue[qTail++] = root;
+        seen[root] = true;
+        while (qHead < qTail) {
+            int u = queue[qHead++];
+            if (u == stop) continue;
+            for (int i = start[u]; i < start[u + 1]; i++) {
+                int v = adjacent[i];
+                if (!seen[v]) {
+                    seen[v] = true;
+                    queue[qTail++] = v;
+                }
+            }
+        }
+        return seen;
+    }
+
+    // Sortare stabilă a primelor size elemente din in după key[], rezultatul în out
+    private static void countingSort(int[] in, int[] out, int size, int[] key, int[] count) {
+        Arrays.fill(count, 0);
+        for (int i = 0; i < size; i++) {
+            count[key[in[i]] + 1]++;
+        }
+        for (int k = 1; k < count.length; k++) {
+            count[k] += count[k - 1];
+        }
+        for (int i = 0; i < size; i++) {
+            out[count[key[in[i]]]++] = in[i];
+        }
+    }
+
+    private int compose(boolean isSeries, int a, int b, int nodeCapacity) {
+        if (composedCount == left.length) {
+            int size = composedCount * 2;
+            left = Arrays.copyOf(left, size);
+            right = Arrays.copyOf(right, size);
+            composedCapacity = Arrays.copyOf(composedCapacity, size);
+            series = Arrays.copyOf(series, size);
+        }
+        left[composedCount] = a;
+        right[composedCount] = b;
+        composedCapacity[composedCount] = nodeCapacity;
+        series[composedCount] = isSeries;
+        return edgeCount + composedCount++;
+    }
+
+    private int nodeCapacity(int node) {
+        return node < edgeCount ? edgeCapacity[node] : composedCapacity[node - edgeCount];
+    }
+
+    /**
+     * Scrie în edgeFlow (după id-ul muchiei originale) fluxul corespunzător
+     * fluxului reducedFlow de pe arcele reduse. Un arc în serie duce același
+     * flux pe ambele părți; unul comasat umple părțile pe rând, până la capacitate.
+     * Muchiile eliminate primesc flux 0.
+     */
+    void mapFlows(int[] reducedFlow, int[] edgeFlow) {
+        Arrays.fill(edgeFlow, 0, edgeCount, 0);
+        int[] nodes = new int[16], flows = new int[16];
+        for (int i = 0; i < reducedEdges; i++) {
+            if (reducedFlow[i] == 0) continue;
+            int size = 0;
+            nodes[size] = tree[i];
+            flows[size++] = reducedFlow[i];
+            while (size > 0) {
+                int node = nodes[--size];
+                int f = flows[size];
+                if (node < edgeCount) {
+                    edgeFlow[node] = f;
+                    continue;
+                }
+                if (size + 2 > nodes.length) {
+                    nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                    flows = Arrays.copyOf(flows, flows.length * 2);
+                }
+                int k = node - edgeCount;
+                int a = left[k], b = right[k];
+                if (series[k]) {
+                    nodes[size] = a;
+                    flows[size++] = f;
+                    nodes[size] = b;
+                    flows[size++] = f;
+                } else {
+                    int first = Math.min(f, nodeCapacity(a));
+                    if (first > 0) {
+                        nodes[size] = a;
+                        flows[size++] = first;
+                    }
+                    if (f > first) {
+                        nodes[size] = b;
+                        flows[size++] = f - first;
+                    }
+                }
+            }
+        }
+    }
+}
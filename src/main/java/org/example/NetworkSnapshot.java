@@ -0,0 +1,227 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Format binar pentru salvarea unei rețele (.ffs), little-endian:
+ *
+ * - antet de 64 de octeți: "FFVZ", versiune, indicatori, noduri, muchii,
+ *   sursă, destinație, flux maxim;
+ * - secțiuni contigue de primitive, fiecare aliniată la 8 octeți: x și y ale
+ *   nodurilor (opțional), apoi from, to, capacitate, cost și flux inițial al
+ *   muchiilor, apoi (opțional) fluxul calculat și partea sursei a tăieturii
+ *   minime ca long[] de biți.
+ *
+ * Citirea mapează fiecare secțiune din FileChannel și o copiază în bloc în
+ * tablourile solverului, fără obiecte create per nod sau per muchie. Tablourile
+ * pot fi mai lungi decât numărul de elemente; se scriu doar primele.
+ */
+final class NetworkSnapshot {
+    static final int MAGIC = 'F' | 'F' << 8 | 'V' << 16 | 'Z' << 24;
+    static final int VERSION = 1;
+    private static final int HEADER = 64;
+    private static final int COORDINATES = 1, SOLUTION = 2;
+
+    final int vertices, edgeCount;
+    final int[] x, y;
+    final int[] from, to, capacity, cost, initialFlow;
+
+    // Soluția salvată; flow este null dacă fișierul nu are soluție
+    final int source, sink;
+    final long maxFlow;
+    final int[] flow;
+    final BitSet sourceSide;
+
+    NetworkSnapshot(int vertices, int edgeCount, int[] x, int[] y,
+                    int[] from, int[] to, int[] capacity, int[] cost, int[] initialFlow,
+                    int source, int sink, long maxFlow, int[] flow, BitSet sourceSide) {
+        this.vertices = vertices;
+        this.edgeCount = edgeCount;
+        this.x = x;
+        this.y = y;
+        this.from = from;
+        this.to = to;
+        this.capacity = capacity;
+        this.cost = cost;
+        this.initialFlow = initialFlow;
+        this.source = source;
+        this.sink = sink;
+        this.maxFlow = maxFlow;
+        this.flow = flow;
+        this.sourceSide = sourceSide;
+    }
+
+    boolean hasCoordinates() {
+        return x != null;
+    }
+
+    boolean hasSolution() {
+        return flow != null;
+    }
+
+    boolean hasTerminals() {
+        return source >= 0 && sink >= 0;
+    }
+
+    // Solverul preia tablourile; soluția salvată devine fluxul curent al perechii
+    FordFulkerson toSolver(FlowAlgorithm algorithm) {
+        FordFulkerson ff = new FordFulkerson(vertices, edgeCount, from, to, capacity, cost, initialFlow, algorithm);
+        if (flow != null) {
+            ff.restoreSolution(source, sink, maxFlow, flow, sourceSide);
+        }
+        return ff;
+    }
+
+    // Verifică primii octeți, fără a citi restul fișierului
+    static boolean isSnapshot(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            return channel.size() >= HEADER && channel.read(magic, 0) == 4 && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    static NetworkSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) {
+                throw new IOException("Fișier prea scurt pentru o rețea salvată");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Nu este o rețea salvată de FlowViz");
+            }
+            int version = header.getInt(4);
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Versiune de format necunoscută: " + version);
+            }
+            int flags = header.getInt(8);
+            int vertices = header.getInt(12);
+            int edgeCount = header.getInt(16);
+            int source = header.getInt(20);
+            int sink = header.getInt(24);
+            long maxFlow = header.getLong(32);
+            if (vertices < 0 || edgeCount < 0) {
+                throw new IOException("Antet invalid");
+            }
+            // Sursa și destinația pot lipsi (-1) doar dacă nu există soluție
+            boolean pair = source >= 0 || sink >= 0 || (flags & SOLUTION) != 0;
+            if (pair && (source < 0 || source >= vertices || sink < 0 || sink >= vertices)) {
+                throw new IOException("Sursă sau destinație invalidă: " + source + ", " + sink);
+            }
+            if (channel.size() < size(vertices, edgeCount, flags)) {
+                throw new IOException("Fișier trunchiat");
+            }
+
+            long position = HEADER;
+            int[] x = null, y = null;
+            if ((flags & COORDINATES) != 0) {
+                x = new int[vertices];
+                y = new int[vertices];
+                position = readInts(channel, position, x, vertices);
+                position = readInts(channel, position, y, vertices);
+            }
+            int[] from = new int[edgeCount], to = new int[edgeCount];
+            int[] capacity = new int[edgeCount], cost = new int[edgeCount], initialFlow = new int[edgeCount];
+            position = readInts(channel, position, from, edgeCount);
+            position = readInts(channel, position, to, edgeCount);
+            position = readInts(channel, position, capacity, edgeCount);
+            position = readInts(channel, position, cost, edgeCount);
+            position = readInts(channel, position, initialFlow, edgeCount);
+
+            for (int e = 0; e < edgeCount; e++) {
+                if (from[e] < 0 || from[e] >= vertices || to[e] < 0 || to[e] >= vertices) {
+                    throw new IOException("Muchia " + e + " are capete invalide: " + from[e] + " -> " + to[e]);
+                }
+            }
+
+            int[] flow = null;
+            BitSet side = null;
+            if ((flags & SOLUTION) != 0) {
+                flow = new int[edgeCount];
+                position = readInts(channel, position, flow, edgeCount);
+                long[] words = new long[(vertices + 63) >>> 6];
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, words.length * 8L);
+                buffer.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(words);
+                side = BitSet.valueOf(words);
+            }
+            return new NetworkSnapshot(vertices, edgeCount, x, y, from, to, capacity, cost, initialFlow,
+                    source, sink, maxFlow, flow, side);
+        }
+    }
+
+    void write(Path path) throws IOException {
+        int flags = (x != null ? COORDINATES : 0) | (flow != null ? SOLUTION : 0);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(8, flags);
+            header.putInt(12, vertices);
+            header.putInt(16, edgeCount);
+            header.putInt(20, source);
+            header.putInt(24, sink);
+            header.putLong(32, maxFlow);
+
+            long position = HEADER;
+            if (x != null) {
+                position = writeInts(channel, position, x, vertices);
+                position = writeInts(channel, position, y, vertices);
+            }
+            position = writeInts(channel, position, from, edgeCount);
+            position = writeInts(channel, position, to, edgeCount);
+            position = writeInts(channel, position, capacity, edgeCount);
+            position = writeInts(channel, position, cost, edgeCount);
+            position = writeInts(channel, position, initialFlow, edgeCount);
+            if (flow != null) {
+                position = writeInts(channel, position, flow, edgeCount);
+                long[] words = new long[(vertices + 63) >>> 6];
+                long[] bits = sourceSide.toLongArray();
+                System.arraycopy(bits, 0, words, 0, Math.min(bits.length, words.length));
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, words.length * 8L);
+                buffer.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(words);
+            }
+        }
+    }
+
+    // Mărimea fișierului, folosită și pentru a detecta fișierele trunchiate
+    private static long size(int vertices, int edgeCount, int flags) {
+        long size = HEADER;
+        if ((flags & COORDINATES) != 0) {
+            size += 2 * section(vertices);
+        }
+        size += 5 * section(edgeCount);
+        if ((flags & SOLUTION) != 0) {
+            size += section(edgeCount) + ((vertices + 63) >>> 6) * 8L;
+        }
+        return size;
+    }
+
+    // Secțiune de int-uri rotunjită la 8 octeți
+    private static long section(int count) {
+        return (count * 4L + 7) & ~7L;
+    }
+
+    private static long readInts(FileChannel channel, long position, int[] target, int count) throws IOException {
+        if (count > 0) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, count * 4L);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(target, 0, count);
+        }
+        return position + section(count);
+    }
+
+    private static long writeInts(FileChannel channel, long position, int[] source, int count) throws IOException {
+        if (count > 0) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, section(count));
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(source, 0, count);
+        }
+        return position + section(count);
+    }
+}
@@ -0,0 +1,327 @@
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Push-relabel paralel, în runde sincrone pe mai multe fire de execuție.
+ *
+ * Fiecare rundă are o fază de push și o fază de reetichetare, ambele
+ * paralele peste lista nodurilor active împărțită în bucăți. În faza de push
+ * înălțimile sunt fixe, deci o pereche de arce (u, v) poate fi admisibilă doar
+ * pentru capătul mai înalt: fluxurile din ResidualGraph sunt scrise de un
+ * singur fir. Excesul primit de la vecini se adună atomic într-un tablou
+ * separat și se aplică în faza de reetichetare, care citește doar înălțimile
+ * vechi și scrie noile înălțimi separat. Reetichetarea globală este un BFS
+ * paralel pe niveluri, cu revendicarea nodurilor prin compare-and-set.
+ *
+ * Grafurile mici sunt rezolvate secvențial, unde costul sincronizării ar domina.
+ */
+class ParallelPushRelabel implements MaxFlowEngine {
+    static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int n;
+    private final int threads;
+    private final int threshold;
+
+    private final int[] height;
+    private final int[] newHeight;
+    private final int[] currentArc;
+    private final int[] stamp;
+    private final long[] excess;
+    private final AtomicLongArray incoming;
+
+    // Lista nodurilor active și un buffer de aceeași mărime pentru concatenări
+    private int[] active;
+    private int activeSize;
+    private int[] buffer;
+
+    // Rezultatele parțiale ale fiecărei bucăți de lucru. Contoarele sunt ținute
+    // în variabile locale și scrise o singură dată per bucată: sloturile vecine
+    // din același tablou împart linia de cache între fire
+    private final int chunks;
+    private final int[][] chunkList;
+    private final int[] chunkSize;
+    private final int[] chunkRelabels;
+    private final long[] chunkPushes;
+
+    private ResidualGraph g;
+    private int source, sink;
+    private int round;
+    private int relabelsSinceGlobal;
+    private long relabels, globalRelabels;
+    private boolean counting;
+    private ForkJoinPool pool;
+
+    ParallelPushRelabel(int vertices, int threads) {
+        this(vertices, threads, SEQUENTIAL_THRESHOLD);
+    }
+
+    ParallelPushRelabel(int vertices, int threads, int threshold) {
+        this.n = vertices;
+        this.threads = Math.max(1, threads);
+        this.threshold = threshold;
+
+        height = new int[n];
+        newHeight = new int[n];
+        currentArc = new int[n];
+        stamp = new int[n];
+        excess = new long[n];
+        incoming = new AtomicLongArray(n);
+        active = new int[n];
+        buffer = new int[n];
+
+        chunks = this.threads * 4;
+        chunkList = new int[chunks][16];
+        chunkSize = new int[chunks];
+        chunkRelabels = new int[chunks];
+        chunkPushes = new long[chunks];
+    }
+
+    @Override
+    public long maxFlow(ResidualGraph graph, int source, int sink, FlowMonitor monitor) {
+        if (graph.arcCount() < threshold) {
+            return new PushRelabel(n).maxFlow(graph, source, sink, monitor);
+        }
+
+        this.g = graph;
+        this.source = source;
+        this.sink = sink;
+        Arrays.fill(excess, 0);
+        Arrays.fill(stamp, 0);
+        Arrays.fill(chunkPushes, 0);
+        counting = monitor.stats() != null;
+        round = 0;
+        relabels = globalRelabels = 0;
+
+        // Saturăm arcele care pleacă din sursă
+        for (int a = g.start[source], end = g.start[source + 1]; a < end; a++) {
+            int r = g.residual(a);
+            if (r > 0) {
+                g.push(a, r);
+                excess[g.head[a]] += r;
+                excess[source] -= r;
+            }
+        }
+
+        pool = new ForkJoinPool(threads);
+        try {
+            globalRelabel();
+
+            while (activeSize > 0) {
+                pushPhase();
+                int relabeled = relabelPhase();
+                relabelsSinceGlobal += relabeled;
+                relabels += relabeled;
+                monitor.step(excess[sink]);
+                if (relabelsSinceGlobal >= n) {
+                    globalRelabel();
+                }
+            }
+        } finally {
+            pool.shutdown();
+            pool = null;
+        }
+
+        long maxFlow = excess[sink];
+        PushRelabel.returnExcess(g, excess, height, currentArc, active, buffer, source, sink);
+        g = null;
+
+        SolverStats stats = monitor.stats();
+        if (stats != null) {
+            for (long p : chunkPushes) {
+                stats.pushes += p;
+            }
+            stats.relabels += relabels;
+            stats.globalRelabels += globalRelabels;
+        }
+        return maxFlow;
+    }
+
+    private void pushPhase() {
+        int[] list = active;
+        Chunks.run(pool, chunks, activeSize, (chunk, from, to) -> {
+            long pushes = 0;
+            for (int i = from; i < to; i++) {
+                pushes += discharge(chunk, list[i]);
+            }
+            if (counting) {
+                chunkPushes[chunk] += pushes;
+            }
+        });
+    }
+
+    // Împinge excesul de la începutul rundei pe arcele admisibile; întoarce numărul de împingeri
+    private int discharge(int chunk, int u) {
+        long e = excess[u];
+        int pushes = 0;
+        int a = currentArc[u];
+        int end = g.start[u + 1];
+        int target = height[u] - 1;
+
+        while (e > 0 && a < end) {
+            int v = g.head[a];
+            // Înălțimea se verifică înaintea fluxului: arcul nu este al nostru altfel
+            if (height[v] == target && g.capacity[a] > g.flow[a]) {
+                int delta = (int) Math.min(e, g.capacity[a] - g.flow[a]);
+                g.push(a, delta);
+                pushes++;
+                e -= delta;
+                incoming.addAndGet(v, delta);
+
+                if (v != sink && v != source) {
+                    int seen = (int) INTS.getVolatile(stamp, v);
+                    if (seen != round && INTS.compareAndSet(stamp, v, seen, round)) {
+                        append(chunk, v);
+                    }
+                }
+                if (e > 0) {
+                    a++;
+                }
+            } else {
+                a++;
+            }
+        }
+
+        excess[u] = e;
+        currentArc[u] = a;
+        return pushes;
+    }
+
+    private int relabelPhase() {
+        // Lista de lucru: nodurile active plus cele care au primit exces
+        int size = activeSize;
+        System.arraycopy(active, 0, buffer, 0, size);
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(chunkList[c], 0, buffer, size, chunkSize[c]);
+            size += chunkSize[c];
+            chunkSize[c] = 0;
+        }
+
+        excess[sink] += incoming.getAndSet(sink, 0);
+
+        int[] list = buffer;
+        Arrays.fill(chunkRelabels, 0);
+        Chunks.run(pool, chunks, size, (chunk, from, to) -> {
+            int relabeled = 0;
+            for (int i = from; i < to; i++) {
+                int u = list[i];
+                excess[u] += incoming.getAndSet(u, 0);
+                newHeight[u] = height[u];
+
+                if (excess[u] > 0 && currentArc[u] == g.start[u + 1]) {
+                    newHeight[u] = relabel(u);
+                    currentArc[u] = g.start[u];
+                    relabeled++;
+                }
+            }
+            chunkRelabels[chunk] = relabeled;
+        });
+
+        // Aplicăm noile înălțimi și construim lista activă a rundei următoare
+        round++;
+        Chunks.run(pool, chunks, size, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                int u = list[i];
+                height[u] = newHeight[u];
+                if (excess[u] > 0 && height[u] < n) {
+                    stamp[u] = round;
+                    append(chunk, u);
+                }
+            }
+        });
+        collectChunks();
+
+        int relabels = 0;
+        for (int c = 0; c < chunks; c++) {
+            relabels += chunkRelabels[c];
+        }
+        return relabels;
+    }
+
+    private int relabel(int u) {
+        int h = n;
+        for (int a = g.start[u], end = g.start[u + 1]; a < end; a++) {
+            if (g.capacity[a] > g.flow[a]) {
+                h = Math.min(h, height[g.head[a]] + 1);
+            }
+        }
+        return h;
+    }
+
+    // BFS paralel pe niveluri din destinație, pe arcele reziduale inversate
+    private void globalRelabel() {
+        relabelsSinceGlobal = 0;
+        globalRelabels++;
+        Arrays.fill(height, n);
+        height[sink] = 0;
+
+        int[] frontier = buffer;
+        int frontierSize = 1;
+        frontier[0] = sink;
+        int level = 0;
+
+        while (frontierSize > 0) {
+            int[] current = frontier;
+            int next = level + 1;
+            Chunks.run(pool, chunks, frontierSize, (chunk, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = current[i];
+                    for (int a = g.start[v], end = g.start[v + 1]; a < end; a++) {
+                        int u = g.head[a];
+                        if (u != source && height[u] == n && g.residual(g.reverse[a]) > 0
+                                && INTS.compareAndSet(height, u, n, next)) {
+                            append(chunk, u);
+                        }
+                    }
+                }
+            });
+
+            frontierSize = 0;
+            for (int c = 0; c < chunks; c++) {
+                System.arraycopy(chunkList[c], 0, frontier, frontierSize, chunkSize[c]);
+                frontierSize += chunkSize[c];
+                chunkSize[c] = 0;
+            }
+            level = next;
+        }
+
+        // Lista activă se reconstruiește din toate nodurile cu exces
+        round++;
+        Chunks.run(pool, chunks, n, (chunk, from, to) -> {
+            for (int u = from; u < to; u++) {
+                currentArc[u] = g.start[u];
+                if (u != source && u != sink && excess[u] > 0 && height[u] < n) {
+                    stamp[u] = round;
+                    append(chunk, u);
+                }
+            }
+        });
+        collectChunks();
+    }
+
+    private void collectChunks() {
+        activeSize = 0;
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(chunkList[c], 0, active, activeSize, chunkSize[c]);
+            activeSize += chunkSize[c];
+            chunkSize[c] = 0;
+        }
+    }
+
+    private void append(int chunk, int v) {
+        int[] list = chunkList[chunk];
+        int size = chunkSize[chunk];
+        if (size == list.length) {
+            list = Arrays.copyOf(list, size * 2);
+            chunkList[chunk] = list;
+        }
+        list[size] = v;
+        chunkSize[chunk] = size + 1;
+    }
+}
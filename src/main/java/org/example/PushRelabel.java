@@ -0,0 +1,313 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Push-relabel cu selecția nodului activ de înălțime maximă (highest-label),
+ * reetichetare globală periodică și euristica golului (gap).
+ *
+ * Faza 1 calculează un preflux maxim: nodurile cu înălțime >= n nu mai pot
+ * ajunge la destinație și nu mai sunt procesate. Faza 2 întoarce excesul
+ * rămas către sursă, astfel încât rezultatul să fie un flux valid.
+ */
+class PushRelabel implements MaxFlowEngine {
+    private final int n;
+    private final int[] height;
+    private final long[] excess;
+    private final int[] currentArc;
+
+    // Găleți de noduri active pe înălțimi (liste simplu înlănțuite)
+    private final int[] bucketTop;
+    private final int[] nextInBucket;
+    private int maxActive;
+
+    // Toate nodurile cu înălțime < n, pe înălțimi (liste dublu înlănțuite), pentru
+    // euristica golului: un gol costă cât nodurile pe care le scoate
+    private final int[] levelTop;
+    private final int[] nextInLevel;
+    private final int[] prevInLevel;
+    private int maxHeight;
+
+    private final int[] queue;
+    private int relabelsSinceGlobal;
+
+    // Contoare pentru statistici, adunate în SolverStats la final; împingerile
+    // sunt numărate local în discharge, iar reetichetările la fiecare reetichetare globală
+    private long relabels, globalRelabels;
+
+    PushRelabel(int vertices) {
+        n = vertices;
+        height = new int[n];
+        excess = new long[n];
+        currentArc = new int[n];
+        bucketTop = new int[n + 1];
+        nextInBucket = new int[n];
+        levelTop = new int[n];
+        nextInLevel = new int[n];
+        prevInLevel = new int[n];
+        queue = new int[n];
+    }
+
+    @Override
+    public long maxFlow(ResidualGraph g, int source, int sink, FlowMonitor monitor) {
+        Arrays.fill(excess, 0);
+        relabels = globalRelabels = 0;
+        relabelsSinceGlobal = 0;
+        long pushes = 0;
+
+        // Saturăm arcele care pleacă din sursă
+        for (int a = g.start[source], end = g.start[source + 1]; a < end; a++) {
+            int r = g.residual(a);
+            if (r > 0) {
+                g.push(a, r);
+                excess[g.head[a]] += r;
+                excess[source] -= r;
+            }
+        }
+
+        globalRelabel(g, source, sink);
+
+        while (maxActive >= 0) {
+            int u = bucketTop[maxActive];
+            if (u == -1) {
+                maxActive--;
+                continue;
+            }
+            bucketTop[maxActive] = nextInBucket[u];
+
+            // Nodul poate fi ridicat la n de euristica golului după ce a intrat în găleată
+            if (height[u] >= n) {
+                continue;
+            }
+
+            pushes += discharge(g, u, sink);
+            monitor.step(excess[sink]);
+
+            if (relabelsSinceGlobal >= n) {
+                globalRelabel(g, source, sink);
+            }
+        }
+
+        long maxFlow = excess[sink];
+        returnExcess(g, excess, height, currentArc, queue, nextInBucket, source, sink);
+        relabels += relabelsSinceGlobal;
+
+        SolverStats stats = monitor.stats();
+        if (stats != null) {
+            stats.pushes += pushes;
+            stats.relabels += relabels;
+            stats.globalRelabels += globalRelabels;
+        }
+        return maxFlow;
+    }
+
+    // Întoarce numărul de împingeri
+    private int discharge(ResidualGraph g, int u, int sink) {
+        int end = g.start[u + 1];
+        int pushes = 0;
+
+        while (excess[u] > 0) {
+            int a = currentArc[u];
+            if (a == end) {
+                if (!relabel(g, u)) {
+                    break;
+                }
+                continue;
+            }
+
+            int v = g.head[a];
+            int r = g.residual(a);
+            if (r > 0 && height[u] == height[v] + 1) {
+                int delta = (int) Math.min(excess[u], r);
+                g.push(a, delta);
+                pushes++;
+                excess[u] -= delta;
+                if (excess[v] == 0 && v != sink) {
+                    activate(v);
+                }
+                excess[v] += delta;
+            } else {
+                currentArc[u] = a + 1;
+            }
+        }
+        return pushes;
+    }
+
+    // Returnează false dacă nodul a ajuns la înălțimea n (nu mai poate atinge destinația)
+    private boolean relabel(ResidualGraph g, int u) {
+        int oldHeight = height[u];
+        int newHeight = n;
+        for (int a = g.start[u], end = g.start[u + 1]; a < end; a++) {
+            if (g.residual(a) > 0) {
+                newHeight = Math.min(newHeight, height[g.head[a]] + 1);
+            }
+        }
+        relabelsSinceGlobal++;
+
+        leaveLevel(u, oldHeight);
+        if (levelTop[oldHeight] == -1) {
+            // Euristica golului: niciun nod nu mai are înălțimea oldHeight,
+            // deci nodurile de deasupra sunt tăiate de destinație
+            for (int h = oldHeight + 1; h <= maxHeight; h++) {
+                for (int v = levelTop[h]; v != -1; v = nextInLevel[v]) {
+                    height[v] = n;
+                }
+                levelTop[h] = -1;
+            }
+            maxHeight = oldHeight - 1;
+            newHeight = n;
+        }
+
+        height[u] = newHeight;
+        if (newHeight >= n) {
+            return false;
+        }
+        enterLevel(u, newHeight);
+        currentArc[u] = g.start[u];
+        return true;
+    }
+
+    private void enterLevel(int v, int h) {
+        int top = levelTop[h];
+        nextInLevel[v] = top;
+        prevInLevel[v] = -1;
+        if (top != -1) {
+            prevInLevel[top] = v;
+        }
+        levelTop[h] = v;
+        if (h > maxHeight) {
+            maxHeight = h;
+        }
+    }
+
+    private void leaveLevel(int v, int h) {
+        int prev = prevInLevel[v], next = nextInLevel[v];
+        if (prev == -1) {
+            levelTop[h] = next;
+        } else {
+            nextInLevel[prev] = next;
+        }
+        if (next != -1) {
+            prevInLevel[next] = prev;
+        }
+    }
+
+    private void activate(int v) {
+        int h = height[v];
+        if (h >= n) {
+            return;
+        }
+        nextInBucket[v] = bucketTop[h];
+        bucketTop[h] = v;
+        if (h > maxActive) {
+            maxActive = h;
+        }
+    }
+
+    // BFS invers din destinație: înălțimea devine distanța exactă până la destinație
+    private void globalRelabel(ResidualGraph g, int source, int sink) {
+        relabels += relabelsSinceGlobal;
+        relabelsSinceGlobal = 0;
+        globalRelabels++;
+        Arrays.fill(height, n);
+        Arrays.fill(levelTop, -1);
+        Arrays.fill(bucketTop, -1);
+        maxActive = -1;
+        maxHeight = -1;
+
+        int qHead = 0, qTail = 0;
+        height[sink] = 0;
+        queue[qTail++] = sink;
+
+        while (qHead < qTail) {
+            int v = queue[qHead++];
+            enterLevel(v, height[v]);
+            for (int a = g.start[v], end = g.start[v + 1]; a < end; a++) {
+                int u = g.head[a];
+                if (height[u] == n && u != source && g.residual(g.reverse[a]) > 0) {
+                    height[u] = height[v] + 1;
+                    queue[qTail++] = u;
+                }
+            }
+        }
+
+        for (int u = 0; u < n; u++) {
+            currentArc[u] = g.start[u];
+            if (u != sink && u != source && excess[u] > 0) {
+                activate(u);
+            }
+        }
+    }
+
+    // Faza 2: excesul rămas în noduri este trimis înapoi la sursă (FIFO).
+    // Folosită și de varianta paralelă; queue și order au cel puțin n elemente.
+    static void returnExcess(ResidualGraph g, long[] excess, int[] height, int[] currentArc,
+                             int[] queue, int[] order, int source, int sink) {
+        int n = g.vertices;
+        int qHead = 0, size = 0;
+
+        for (int u = 0; u < n; u++) {
+            currentArc[u] = g.start[u];
+            if (u != source && u != sink && excess[u] > 0) {
+                queue[(qHead + size++) % n] = u;
+            }
+        }
+        if (size == 0) {
+            return;
+        }
+
+        // Înălțimile inițiale: n + distanța până la sursă în graful rezidual;
+        // nodurile care nu ajung la sursă primesc 2n și nu mai sunt folosite
+        int unreached = 2 * n;
+        Arrays.fill(height, unreached);
+        int oHead = 0, oTail = 0;
+        height[source] = n;
+        order[oTail++] = source;
+        while (oHead < oTail) {
+            int v = order[oHead++];
+            for (int a = g.start[v], end = g.start[v + 1]; a < end; a++) {
+                int u = g.head[a];
+                if (height[u] == unreached && u != sink && g.residual(g.reverse[a]) > 0) {
+                    height[u] = height[v] + 1;
+                    order[oTail++] = u;
+                }
+            }
+        }
+
+        while (size > 0) {
+            int u = queue[qHead];
+            qHead = (qHead + 1) % n;
+            size--;
+
+            int end = g.start[u + 1];
+            while (excess[u] > 0) {
+                int a = currentArc[u];
+                if (a == end) {
+                    int newHeight = unreached;
+                    for (int b = g.start[u]; b < end; b++) {
+                        if (g.residual(b) > 0 && g.head[b] != sink) {
+                            newHeight = Math.min(newHeight, height[g.head[b]] + 1);
+                        }
+                    }
+                    height[u] = newHeight;
+                    currentArc[u] = g.start[u];
+                    continue;
+                }
+
+                int v = g.head[a];
+                int r = g.residual(a);
+                if (r > 0 && v != sink && height[u] == height[v] + 1) {
+                    int delta = (int) Math.min(excess[u], r);
+                    g.push(a, delta);
+                    excess[u] -= delta;
+                    if (excess[v] == 0 && v != source) {
+                        queue[(qHead + size++) % n] = v;
+                    }
+                    excess[v] += delta;
+                } else {
+                    currentArc[u] = a + 1;
+                }
+            }
+        }
+    }
+}
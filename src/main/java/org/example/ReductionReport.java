@@ -0,0 +1,74 @@
+package org.example;
+
+import java.util.Locale;
+
+/**
+ * Ce a eliminat reducerea rețelei înaintea ultimului calcul: nodurile care nu
+ * sunt pe niciun drum sursă-destinație, arcele inutile, nodurile interioare ale
+ * lanțurilor, ciclurile de două arce și arcele paralele comasate.
+ */
+public final class ReductionReport {
+    private final int vertices, arcs;
+    private final int unreachableVertices, deadEndVertices;
+    private final int uselessArcs;
+    private final int contractedVertices, removedCycles;
+    private final int mergedArcs;
+    private final int reducedVertices, reducedArcs;
+    private final long nanos;
+
+    ReductionReport(int vertices, int arcs, int unreachableVertices, int deadEndVertices, int uselessArcs,
+                    int contractedVertices, int removedCycles, int mergedArcs,
+                    int reducedVertices, int reducedArcs, long nanos) {
+        this.vertices = vertices;
+        this.arcs = arcs;
+        this.unreachableVertices = unreachableVertices;
+        this.deadEndVertices = deadEndVertices;
+        this.uselessArcs = uselessArcs;
+        this.contractedVertices = contractedVertices;
+        this.removedCycles = removedCycles;
+        this.mergedArcs = mergedArcs;
+        this.reducedVertices = reducedVertices;
+        this.reducedArcs = reducedArcs;
+        this.nanos = nanos;
+    }
+
+    public int getVertices() { return vertices; }
+    public int getArcs() { return arcs; }
+
+    // Noduri în care nu se ajunge din sursă
+    public int getUnreachableVertices() { return unreachableVertices; }
+
+    // Noduri accesibile din sursă din care nu se ajunge la destinație
+    public int getDeadEndVertices() { return deadEndVertices; }
+
+    // Arce de capacitate 0, bucle, arce spre sursă sau din destinație și arcele nodurilor eliminate
+    public int getUselessArcs() { return uselessArcs; }
+
+    // Noduri interioare de lanț, înlocuite împreună cu arcele lor de un singur arc
+    public int getContractedVertices() { return contractedVertices; }
+
+    // Cicluri u -> v -> u eliminate odată cu nodul v
+    public int getRemovedCycles() { return removedCycles; }
+
+    // Arce paralele comasate în alt arc
+    public int getMergedArcs() { return mergedArcs; }
+
+    public int getReducedVertices() { return reducedVertices; }
+    public int getReducedArcs() { return reducedArcs; }
+    public long getNanos() { return nanos; }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Rețea inițială:    %d noduri, %d arce%n", vertices, arcs));
+        text.append(String.format(Locale.ROOT, "Neaccesibile:      %d noduri%n", unreachableVertices));
+        text.append(String.format(Locale.ROOT, "Fără ieșire:       %d noduri%n", deadEndVertices));
+        text.append(String.format(Locale.ROOT, "Arce inutile:      %d%n", uselessArcs));
+        text.append(String.format(Locale.ROOT, "Lanțuri:           %d noduri contractate%n", contractedVertices));
+        text.append(String.format(Locale.ROOT, "Cicluri eliminate: %d%n", removedCycles));
+        text.append(String.format(Locale.ROOT, "Arce comasate:     %d%n", mergedArcs));
+        text.append(String.format(Locale.ROOT, "Rețea redusă:      %d noduri, %d arce%n", reducedVertices, reducedArcs));
+        text.append(String.format(Locale.ROOT, "Reducere:          %.2f ms%n", nanos / 1e6));
+        return text.toString();
+    }
+}
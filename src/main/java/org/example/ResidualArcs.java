@@ -0,0 +1,19 @@
+package org.example;
+
+/**
+ * Arcele unui graf rezidual CSR, așa cum le văd algoritmii care rulează atât
+ * pe heap (ResidualGraph) cât și pe fișiere mapate (MappedResidualGraph).
+ * Arcele nodului u ocupă intervalul [start()[u], start()[u + 1]).
+ */
+interface ResidualArcs {
+    int[] start();
+
+    int head(int arc);
+
+    int residual(int arc);
+
+    // Nodul din care pleacă arcul (capătul arcului invers)
+    int tail(int arc);
+
+    void push(int arc, int amount);
+}
@@ -0,0 +1,154 @@
+package org.example;
+
+import java.util.BitSet;
+
+/**
+ * Graful rezidual stocat în format CSR (compressed sparse row).
+ *
+ * Arcele fiecărui nod u ocupă intervalul [start[u], start[u + 1]) din
+ * tablourile paralele head/capacity/flow/reverse. Fiecare muchie originală
+ * produce un arc direct și un arc invers (capacitate 0), legate prin reverse.
+ * Ordinea arcelor unui nod este ordinea în care au fost adăugate muchiile,
+ * la fel ca în vechea listă de adiacență. Arcul invers are costul opus
+ * celui direct.
+ */
+class ResidualGraph implements ResidualArcs {
+    final int vertices;
+    final int edgeCount;
+
+    final int[] start;
+    final int[] head;
+    final int[] capacity;
+    final int[] flow;
+    final int[] reverse;
+    final int[] cost;
+
+    // Arcul direct corespunzător fiecărei muchii originale (după id-ul din addEdge)
+    final int[] edgeArc;
+
+    ResidualGraph(int vertices, int edgeCount, int[] from, int[] to,
+                  int[] capacities, int[] costs, int[] flows, int[] reverseFlows) {
+        this.vertices = vertices;
+        this.edgeCount = edgeCount;
+
+        int arcs = 2 * edgeCount;
+        start = new int[vertices + 1];
+        head = new int[arcs];
+        capacity = new int[arcs];
+        flow = new int[arcs];
+        reverse = new int[arcs];
+        cost = new int[arcs];
+        edgeArc = new int[edgeCount];
+
+        // Numărăm arcele fiecărui nod, apoi sume prefix
+        for (int e = 0; e < edgeCount; e++) {
+            start[from[e] + 1]++;
+            start[to[e] + 1]++;
+        }
+        for (int u = 0; u < vertices; u++) {
+            start[u + 1] += start[u];
+        }
+
+        // Plasare stabilă: arcul direct apoi cel invers, în ordinea muchiilor
+        int[] next = new int[vertices];
+        System.arraycopy(start, 0, next, 0, vertices);
+        for (int e = 0; e < edgeCount; e++) {
+            int a = next[from[e]]++;
+            int b = next[to[e]]++;
+
+            head[a] = to[e];
+            capacity[a] = capacities[e];
+            flow[a] = flows[e];
+            cost[a] = costs[e];
+
+            head[b] = from[e];
+            capacity[b] = 0;
+            flow[b] = reverseFlows[e];
+            cost[b] = -costs[e];
+
+            reverse[a] = b;
+            reverse[b] = a;
+            edgeArc[e] = a;
+        }
+    }
+
+    /**
+     * Graf cu aceeași topologie, capacități și costuri ca shared, dar cu
+     * propriul tablou de fluxuri (inițial nule). Tablourile comune nu sunt
+     * copiate, deci shared nu trebuie modificat cât timp copia este folosită.
+     */
+    ResidualGraph(ResidualGraph shared) {
+        vertices = shared.vertices;
+        edgeCount = shared.edgeCount;
+        start = shared.start;
+        head = shared.head;
+        capacity = shared.capacity;
+        reverse = shared.reverse;
+        cost = shared.cost;
+        edgeArc = shared.edgeArc;
+        flow = new int[shared.flow.length];
+    }
+
+    int arcCount() {
+        return head.length;
+    }
+
+    @Override
+    public int[] start() {
+        return start;
+    }
+
+    @Override
+    public int head(int arc) {
+        return head[arc];
+    }
+
+    @Override
+    public int residual(int arc) {
+        return capacity[arc] - flow[arc];
+    }
+
+    @Override
+    public void push(int arc, int amount) {
+        flow[arc] += amount;
+        flow[reverse[arc]] -= amount;
+    }
+
+    // Nodul din care pleacă arcul (capătul arcului invers)
+    @Override
+    public int tail(int arc) {
+        return head[reverse[arc]];
+    }
+
+    // Pragul inițial al scalării capacităților: cea mai mare putere a lui 2
+    // cel mult egală cu capacitatea reziduală maximă (0 dacă nu există arce libere)
+    int scalingStart() {
+        int max = 0;
+        for (int a = 0; a < flow.length; a++) {
+            max = Math.max(max, capacity[a] - flow[a]);
+        }
+        return Integer.highestOneBit(max);
+    }
+
+    // Nodurile accesibile din source pe arce cu capacitate reziduală (partea sursei a tăieturii)
+    BitSet reachable(int source, int[] queue) {
+        BitSet reachable = new BitSet(vertices);
+        int qHead = 0, qTail = 0;
+        queue[qTail++] = source;
+        reachable.set(source);
+
+        while (qHead < qTail) {
+            int u = queue[qHead++];
+
+            for (int a = start[u], end = start[u + 1]; a < end; a++) {
+                int v = head[a];
+                if (capacity[a] > flow[a] && !reachable.get(v)) {
+                    reachable.set(v);
+                    queue[qTail++] = v;
+                }
+            }
+        }
+
+        return reachable;
+    }
+}
@@ -0,0 +1,131 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rezultatele calculelor din editor, refolosite cât timp rețeaua nu se schimbă.
+ *
+ * Cheia este versiunea rețelei (NetworkPanel.getVersion, mărită la fiecare
+ * modificare) împreună cu sursa, destinația și configurația solverului.
+ * Memoria ocupată de fluxuri și tăieturi este limitată: la depășire se
+ * elimină rezultatele folosite cel mai demult (LRU). Versiunile nu se repetă,
+ * deci rezultatele altor versiuni sunt eliminate la prima cerere sau adăugare.
+ */
+final class ResultCache {
+    static final class Key {
+        final long version;
+        final int source, sink;
+        final FlowAlgorithm algorithm;
+        final boolean scaling, reduction;
+
+        Key(long version, int source, int sink, FlowAlgorithm algorithm, boolean scaling, boolean reduction) {
+            this.version = version;
+            this.source = source;
+            this.sink = sink;
+            this.algorithm = algorithm;
+            this.scaling = scaling;
+            this.reduction = reduction;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return version == key.version && source == key.source && sink == key.sink
+                    && algorithm == key.algorithm && scaling == key.scaling && reduction == key.reduction;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, source, sink, algorithm, scaling, reduction);
+        }
+    }
+
+    static final class Entry {
+        final FlowResult result;
+        final Long cost;
+        final ReductionReport reduction;
+        final long bytes;
+
+        Entry(FlowResult result, Long cost, ReductionReport reduction) {
+            this.result = result;
+            this.cost = cost;
+            this.reduction = reduction;
+            this.bytes = result.retainedBytes();
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits, misses, evictions;
+
+    ResultCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    Entry get(Key key) {
+        retain(key.version);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return entry;
+    }
+
+    void put(Key key, FlowResult result, Long cost, ReductionReport reduction) {
+        Entry entry = new Entry(result, cost, reduction);
+        if (entry.bytes > maxBytes) {
+            return;
+        }
+
+        retain(key.version);
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        bytes += entry.bytes;
+
+        // Ordinea de acces pune primele rezultatele folosite cel mai demult
+        for (Iterator<Entry> it = entries.values().iterator(); bytes > maxBytes && it.hasNext(); ) {
+            bytes -= it.next().bytes;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    // Rezultatele altor versiuni nu mai pot fi cerute; ar ține în viață grafurile vechi
+    private void retain(long version) {
+        for (Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Key, Entry> old = it.next();
+            if (old.getKey().version != version) {
+                bytes -= old.getValue().bytes;
+                it.remove();
+            }
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    int size() { return entries.size(); }
+    long getBytes() { return bytes; }
+    long getHits() { return hits; }
+    long getMisses() { return misses; }
+    long getEvictions() { return evictions; }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d rezultate, %.1f / %.0f MB, accesări %d, ratări %d, evacuări LRU %d",
+                entries.size(), bytes / (1024.0 * 1024.0), maxBytes / (1024.0 * 1024.0), hits, misses, evictions);
+    }
+}
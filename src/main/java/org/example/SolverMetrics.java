@@ -0,0 +1,65 @@
+package org.example;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * MBean-ul unic prin care statisticile ultimului calcul sunt vizibile în
+ * JConsole/VisualVM. Se înregistrează la prima publicare.
+ */
+class SolverMetrics implements SolverStatsMXBean {
+    static final String OBJECT_NAME = "org.example:type=SolverStats";
+
+    private static final SolverMetrics INSTANCE = new SolverMetrics();
+    private static boolean registered;
+
+    private volatile SolverStats last;
+    private long runs;
+    private long totalSolveNanos;
+
+    static synchronized void publish(SolverStats stats) {
+        if (!registered) {
+            registered = true;
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException | SecurityException ex) {
+                // Înregistrat deja de alt class loader sau JMX indisponibil: statisticile
+                // rămân doar în SolverStats, calculul nu depinde de ele
+            }
+        }
+        INSTANCE.runs++;
+        INSTANCE.totalSolveNanos += stats.solveNanos;
+        INSTANCE.last = stats;
+    }
+
+    private SolverStats last() {
+        SolverStats stats = last;
+        return stats != null ? stats : new SolverStats(FlowAlgorithm.EDMONDS_KARP, 0, 0);
+    }
+
+    @Override public synchronized long getRuns() { return runs; }
+    @Override public synchronized double getTotalSolveMillis() { return totalSolveNanos / 1e6; }
+
+    @Override public String getAlgorithm() { return last == null ? "" : last.getAlgorithm().name(); }
+    @Override public int getVertices() { return last().getVertices(); }
+    @Override public int getArcs() { return last().getArcs(); }
+    @Override public long getMaxFlow() { return last().getMaxFlow(); }
+    @Override public long getSearches() { return last().getSearches(); }
+    @Override public long getAugmentingPaths() { return last().getAugmentingPaths(); }
+    @Override public long getArcsScanned() { return last().getArcsScanned(); }
+    @Override public double getArcsPerSearch() { return last().getArcsPerSearch(); }
+    @Override public long getPushes() { return last().getPushes(); }
+    @Override public long getRelabels() { return last().getRelabels(); }
+    @Override public long getGlobalRelabels() { return last().getGlobalRelabels(); }
+    @Override public long getScalingPhases() { return last().getScalingPhases(); }
+    @Override public long[] getPathLengthHistogram() { return last().getPathLengthHistogram(); }
+    @Override public double getBuildMillis() { return last().getBuildNanos() / 1e6; }
+    @Override public double getSolveMillis() { return last().getSolveNanos() / 1e6; }
+    @Override public double getMinCutMillis() { return last().getMinCutNanos() / 1e6; }
+    @Override public double getFlowExtractionMillis() { return last().getFlowNanos() / 1e6; }
+    @Override public long getPeakHeapBytes() { return last().getPeakHeapBytes(); }
+    @Override public String getLastRunJson() { return last == null ? "{}" : last.toJson(); }
+}
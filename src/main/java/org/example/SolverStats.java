@@ -0,0 +1,135 @@
+package org.example;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Locale;
+
+/**
+ * Statisticile unui calcul de flux: contoare ale algoritmului, durata fiecărei
+ * etape și memoria heap maximă. Se colectează doar dacă sunt activate prin
+ * FordFulkerson.setStatsEnabled; altfel algoritmii nu ating acest obiect.
+ *
+ * Algoritmii numără în variabile locale și adună aici o singură dată pe
+ * căutare sau la final, deci contoarele nu încetinesc buclele interioare.
+ */
+public class SolverStats {
+    private final FlowAlgorithm algorithm;
+    private final int vertices;
+    private final int arcs;
+    long maxFlow;
+
+    long searches;
+    long augmentingPaths;
+    long arcsScanned;
+    long pushes;
+    long relabels;
+    long globalRelabels;
+    long scalingPhases;
+    final long[] pathLengths = new long[32];
+
+    long buildNanos;
+    long solveNanos;
+    long minCutNanos;
+    long flowNanos;
+    long peakHeapBytes;
+
+    SolverStats(FlowAlgorithm algorithm, int vertices, int arcs) {
+        this.algorithm = algorithm;
+        this.vertices = vertices;
+        this.arcs = arcs;
+    }
+
+    // Histogramă pe puteri ale lui 2: găleata k numără drumurile de lungime [2^k, 2^(k+1))
+    void recordPath(int length) {
+        pathLengths[31 - Integer.numberOfLeadingZeros(Math.max(1, length))]++;
+    }
+
+    // Memoria heap maximă se măsoară de la resetarea vârfurilor până la sfârșitul calculului
+    static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    void capturePeakHeap() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid() && pool.getPeakUsage() != null) {
+                total += pool.getPeakUsage().getUsed();
+            }
+        }
+        peakHeapBytes = Math.max(peakHeapBytes, total);
+    }
+
+    public FlowAlgorithm getAlgorithm() { return algorithm; }
+    public int getVertices() { return vertices; }
+    public int getArcs() { return arcs; }
+    public long getMaxFlow() { return maxFlow; }
+    public long getSearches() { return searches; }
+    public long getAugmentingPaths() { return augmentingPaths; }
+    public long getArcsScanned() { return arcsScanned; }
+    public long getPushes() { return pushes; }
+    public long getRelabels() { return relabels; }
+    public long getGlobalRelabels() { return globalRelabels; }
+    public long getScalingPhases() { return scalingPhases; }
+    public long[] getPathLengthHistogram() { return pathLengths.clone(); }
+    public long getBuildNanos() { return buildNanos; }
+    public long getSolveNanos() { return solveNanos; }
+    public long getMinCutNanos() { return minCutNanos; }
+    public long getFlowNanos() { return flowNanos; }
+    public long getPeakHeapBytes() { return peakHeapBytes; }
+
+    // Arce examinate în medie la o căutare (BFS, Dijkstra sau fază)
+    public double getArcsPerSearch() {
+        return searches == 0 ? 0 : (double) arcsScanned / searches;
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder(512);
+        json.append('{');
+        json.append("\"algorithm\":\"").append(algorithm.name()).append('"');
+        json.append(",\"vertices\":").append(vertices);
+        json.append(",\"arcs\":").append(arcs);
+        json.append(",\"maxFlow\":").append(maxFlow);
+        json.append(",\"searches\":").append(searches);
+        json.append(",\"augmentingPaths\":").append(augmentingPaths);
+        json.append(",\"arcsScanned\":").append(arcsScanned);
+        json.append(",\"arcsPerSearch\":").append(String.format(Locale.ROOT, "%.1f", getArcsPerSearch()));
+        json.append(",\"pushes\":").append(pushes);
+        json.append(",\"relabels\":").append(relabels);
+        json.append(",\"globalRelabels\":").append(globalRelabels);
+        json.append(",\"scalingPhases\":").append(scalingPhases);
+
+        // Histograma fără gălețile goale de la coadă: {"1":n, "2":n, "4":n, ...}
+        json.append(",\"pathLengthHistogram\":{");
+        int last = pathLengths.length - 1;
+        while (last >= 0 && pathLengths[last] == 0) last--;
+        for (int k = 0; k <= last; k++) {
+            if (k > 0) json.append(',');
+            json.append('"').append(1L << k).append("\":").append(pathLengths[k]);
+        }
+        json.append('}');
+
+        json.append(",\"timingsMs\":{");
+        json.append("\"build\":").append(millis(buildNanos));
+        json.append(",\"solve\":").append(millis(solveNanos));
+        json.append(",\"minCut\":").append(millis(minCutNanos));
+        json.append(",\"flowExtraction\":").append(millis(flowNanos));
+        json.append('}');
+        json.append(",\"peakHeapBytes\":").append(peakHeapBytes);
+        json.append('}');
+        return json.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
@@ -0,0 +1,31 @@
+package org.example;
+
+/**
+ * Interfața JMX a statisticilor de calcul, înregistrată ca
+ * org.example:type=SolverStats. Valorile sunt cele ale ultimului calcul cu
+ * statistici activate; getRuns și getTotalSolveMillis sunt cumulative.
+ */
+public interface SolverStatsMXBean {
+    long getRuns();
+    double getTotalSolveMillis();
+
+    String getAlgorithm();
+    int getVertices();
+    int getArcs();
+    long getMaxFlow();
+    long getSearches();
+    long getAugmentingPaths();
+    long getArcsScanned();
+    double getArcsPerSearch();
+    long getPushes();
+    long getRelabels();
+    long getGlobalRelabels();
+    long getScalingPhases();
+    long[] getPathLengthHistogram();
+    double getBuildMillis();
+    double getSolveMillis();
+    double getMinCutMillis();
+    double getFlowExtractionMillis();
+    long getPeakHeapBytes();
+    String getLastRunJson();
+}
@@ -0,0 +1,366 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index spațial pe grilă uniformă pentru nodurile și arcele din NetworkPanel.
+ *
+ * Un nod este înregistrat în celula centrului său; cum raza lui este mai mică
+ * decât latura celulei, căutarea unui punct verifică doar cele 3 × 3 celule din
+ * jur. Un arc este înregistrat în toate celulele traversate de segmentul dintre
+ * centrele nodurilor (parcurgere Amanatides-Woo) și în cele acoperite de
+ * eticheta lui. Celulele sunt păstrate într-un HashMap, deci planșa nu are
+ * limite, iar costul unei interogări nu depinde de numărul total de noduri.
+ *
+ * Segmentele lungi sunt înregistrate pe un nivel mai grosier: nivelul k are
+ * celule de CELL · 2^k pixeli, iar un segment stă pe primul nivel pe care
+ * traversează cel mult MAX_EDGE_CELLS + 1 celule. Etichetele rămân pe nivelul 0.
+ * Astfel un arc ocupă un număr mărginit de celule oricât de lung ar fi, iar
+ * interogările verifică pe fiecare nivel folosit doar celulele din zonă.
+ *
+ * Nodurile și arcele sunt ținute prin referință, nu prin id: renumerotarea de
+ * după ștergerea unui nod nu atinge indexul.
+ */
+class SpatialIndex {
+    static final int CELL = 64;
+
+    // Dreptunghiul etichetei flux/capacitate, relativ la mijlocul arcului
+    static final int LABEL_LEFT = 0, LABEL_RIGHT = 60, LABEL_TOP = -16, LABEL_BOTTOM = 2;
+
+    // Pași între celule pe care îi poate face un segment pe nivelul lui
+    static final int MAX_EDGE_CELLS = 16;
+
+    // CELL = 1 << CELL_SHIFT
+    private static final int CELL_SHIFT = 6;
+    private static final int MAX_LEVEL = 24;
+
+    private static final class Cell {
+        final List<Node> nodes = new ArrayList<>(2);
+        final List<EdgeEntry> edges = new ArrayList<>(2);
+    }
+
+    private static final class EdgeEntry {
+        final Edge edge;
+        final Node from, to;
+        final long order;
+        // Cheile celulelor în care este înregistrat, fiecare o singură dată
+        long[] cells = new long[8];
+        int cellCount;
+        int mark;
+
+        EdgeEntry(Edge edge, Node from, Node to, long order) {
+            this.edge = edge;
+            this.from = from;
+            this.to = to;
+            this.order = order;
+        }
+    }
+
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Edge, EdgeEntry> entries = new IdentityHashMap<>();
+    private final Map<Node, List<EdgeEntry>> incident = new IdentityHashMap<>();
+    // Cel mai înalt nivel pe care a fost înregistrat vreun segment
+    private int maxLevel;
+    private long nextOrder;
+    private int mark;
+
+    void clear() {
+        cells.clear();
+        entries.clear();
+        incident.clear();
+        maxLevel = 0;
+    }
+
+    // Indexul întregii rețele, construit o singură dată
+    void rebuild(GraphModel graph) {
+        clear();
+        for (Node node : graph.nodes()) {
+            addNode(node);
+        }
+        for (Edge edge : graph.edges()) {
+            addEdge(edge, graph.node(edge.from), graph.node(edge.to));
+        }
+    }
+
+    void addNode(Node node) {
+        cell(key(0, cellOf(node.x, 0), cellOf(node.y, 0))).nodes.add(node);
+        incident.put(node, new ArrayList<>());
+    }
+
+    // Șterge nodul împreună cu arcele lui
+    void removeNode(Node node) {
+        unlinkNode(node);
+        List<EdgeEntry> list = incident.remove(node);
+        if (list != null) {
+            for (EdgeEntry entry : new ArrayList<>(list)) {
+                removeEdge(entry.edge);
+            }
+        }
+    }
+
+    // Mută nodul și reînregistrează arcele lui
+    void moveNode(Node node, int x, int y) {
+        unlinkNode(node);
+        node.x = x;
+        node.y = y;
+        cell(key(0, cellOf(x, 0), cellOf(y, 0))).nodes.add(node);
+
+        for (EdgeEntry entry : incident.get(node)) {
+            unlinkEdge(entry);
+            linkEdge(entry);
+        }
+    }
+
+    void addEdge(Edge edge, Node from, Node to) {
+        EdgeEntry entry = new EdgeEntry(edge, from, to, nextOrder++);
+        entries.put(edge, entry);
+        incident.get(from).add(entry);
+        incident.get(to).add(entry);
+        linkEdge(entry);
+    }
+
+    void removeEdge(Edge edge) {
+        EdgeEntry entry = entries.remove(edge);
+        if (entry == null) {
+            return;
+        }
+        unlinkEdge(entry);
+        List<EdgeEntry> a = incident.get(entry.from);
+        List<EdgeEntry> b = incident.get(entry.to);
+        if (a != null) a.remove(entry);
+        if (b != null) b.remove(entry);
+    }
+
+    // Nodul care conține punctul; la suprapuneri câștigă cel cu id-ul cel mai mic
+    Node nodeAt(int x, int y) {
+        Node best = null;
+        int cx = cellOf(x, 0), cy = cellOf(y, 0);
+        for (int i = cx - 1; i <= cx + 1; i++) {
+            for (int j = cy - 1; j <= cy + 1; j++) {
+                Cell cell = cells.get(key(0, i, j));
+                if (cell == null) continue;
+                for (Node node : cell.nodes) {
+                    if (node.contains(x, y) && (best == null || node.id < best.id)) {
+                        best = node;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Arcul a cărui etichetă conține punctul; la suprapuneri câștigă cel adăugat ultimul
+    Edge labelAt(int x, int y) {
+        Cell cell = cells.get(key(0, cellOf(x, 0), cellOf(y, 0)));
+        if (cell == null) return null;
+
+        EdgeEntry best = null;
+        for (EdgeEntry entry : cell.edges) {
+            if (labelContains(entry, x, y) && (best == null || entry.order > best.order)) {
+                best = entry;
+            }
+        }
+        return best == null ? null : best.edge;
+    }
+
+    // Cel mai apropiat arc aflat la cel mult tolerance pixeli de punct
+    Edge edgeAt(int x, int y, int tolerance) {
+        int stamp = ++mark;
+        EdgeEntry best = null;
+        double bestDist = (double) tolerance * tolerance;
+        for (int level = 0; level <= maxLevel; level++) {
+            for (int i = cellOf(x - tolerance, level); i <= cellOf(x + tolerance, level); i++) {
+                for (int j = cellOf(y - tolerance, level); j <= cellOf(y + tolerance, level); j++) {
+                    Cell cell = cells.get(key(level, i, j));
+                    if (cell == null) continue;
+                    for (EdgeEntry entry : cell.edges) {
+                        if (entry.mark == stamp) continue;
+                        entry.mark = stamp;
+                        double d = segmentDistanceSq(x, y, entry.from, entry.to);
+                        if (d <= bestDist) {
+                            bestDist = d;
+                            best = entry;
+                        }
+                    }
+                }
+            }
+        }
+        return best == null ? null : best.edge;
+    }
+
+    // Nodurile al căror disc intersectează dreptunghiul [x0, x1] × [y0, y1], în ordinea id-urilor
+    List<Node> nodesIn(int x0, int y0, int x1, int y1) {
+        List<Node> result = new ArrayList<>();
+        int r = Node.RADIUS;
+        for (int i = cellOf(x0 - r, 0); i <= cellOf(x1 + r, 0); i++) {
+            for (int j = cellOf(y0 - r, 0); j <= cellOf(y1 + r, 0); j++) {
+                Cell cell = cells.get(key(0, i, j));
+                if (cell == null) continue;
+                for (Node node : cell.nodes) {
+                    if (node.x >= x0 - r && node.x <= x1 + r && node.y >= y0 - r && node.y <= y1 + r) {
+                        result.add(node);
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(node -> node.id));
+        return result;
+    }
+
+    // Arcele (segment sau etichetă) care pot fi vizibile în dreptunghi, fiecare o singură
+    // dată și în ordinea adăugării, ca etichetele să se suprapună la fel la fiecare desenare
+    List<Edge> edgesIn(int x0, int y0, int x1, int y1) {
+        List<EdgeEntry> found = new ArrayList<>();
+        int stamp = ++mark;
+        for (int level = 0; level <= maxLevel; level++) {
+            for (int i = cellOf(x0, level); i <= cellOf(x1, level); i++) {
+                for (int j = cellOf(y0, level); j <= cellOf(y1, level); j++) {
+                    Cell cell = cells.get(key(level, i, j));
+                    if (cell == null) continue;
+                    for (EdgeEntry entry : cell.edges) {
+                        if (entry.mark != stamp) {
+                            entry.mark = stamp;
+                            found.add(entry);
+                        }
+                    }
+                }
+            }
+        }
+        found.sort(Comparator.comparingLong(entry -> entry.order));
+
+        List<Edge> result = new ArrayList<>(found.size());
+        for (EdgeEntry entry : found) {
+            result.add(entry.edge);
+        }
+        return result;
+    }
+
+    private static boolean labelContains(EdgeEntry entry, int x, int y) {
+        int midX = (entry.from.x + entry.to.x) / 2;
+        int midY = (entry.from.y + entry.to.y) / 2;
+        return x >= midX + LABEL_LEFT && x <= midX + LABEL_RIGHT
+                && y >= midY + LABEL_TOP && y <= midY + LABEL_BOTTOM;
+    }
+
+    private void unlinkNode(Node node) {
+        long key = key(0, cellOf(node.x, 0), cellOf(node.y, 0));
+        Cell cell = cells.get(key);
+        if (cell != null) {
+            cell.nodes.remove(node);
+            dropIfEmpty(key, cell);
+        }
+    }
+
+    private void linkEdge(EdgeEntry entry) {
+        int x1 = entry.from.x, y1 = entry.from.y;
+        int x2 = entry.to.x, y2 = entry.to.y;
+
+        // Primul nivel pe care segmentul traversează cel mult MAX_EDGE_CELLS + 1 celule
+        int level = 0;
+        while (level < MAX_LEVEL && Math.abs(cellOf(x2, level) - cellOf(x1, level))
+                + Math.abs(cellOf(y2, level) - cellOf(y1, level)) > MAX_EDGE_CELLS) {
+            level++;
+        }
+        maxLevel = Math.max(maxLevel, level);
+
+        // Celulele traversate de segment, în ordine și fiecare o dată (Amanatides-Woo)
+        double size = 1L << (CELL_SHIFT + level);
+        int cx = cellOf(x1, level), cy = cellOf(y1, level);
+        int ex = cellOf(x2, level), ey = cellOf(y2, level);
+        int stepX = Integer.signum(ex - cx), stepY = Integer.signum(ey - cy);
+        double dx = x2 - x1, dy = y2 - y1;
+        double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : size / Math.abs(dx);
+        double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : size / Math.abs(dy);
+        double tMaxX = dx == 0 ? Double.POSITIVE_INFINITY
+                : ((stepX > 0 ? (cx + 1) * size : cx * size) - x1) / dx;
+        double tMaxY = dy == 0 ? Double.POSITIVE_INFINITY
+                : ((stepY > 0 ? (cy + 1) * size : cy * size) - y1) / dy;
+
+        link(entry, key(level, cx, cy));
+        for (int steps = Math.abs(ex - cx) + Math.abs(ey - cy); steps > 0; steps--) {
+            if (cx != ex && (cy == ey || tMaxX < tMaxY)) {
+                tMaxX += tDeltaX;
+                cx += stepX;
+            } else {
+                tMaxY += tDeltaY;
+                cy += stepY;
+            }
+            link(entry, key(level, cx, cy));
+        }
+
+        // Celulele etichetei, pe nivelul 0; pot coincide doar cu celulele unui segment scurt
+        int segmentCells = entry.cellCount;
+        int midX = (x1 + x2) / 2;
+        int midY = (y1 + y2) / 2;
+        for (int i = cellOf(midX + LABEL_LEFT, 0); i <= cellOf(midX + LABEL_RIGHT, 0); i++) {
+            for (int j = cellOf(midY + LABEL_TOP, 0); j <= cellOf(midY + LABEL_BOTTOM, 0); j++) {
+                long key = key(0, i, j);
+                if (level > 0 || !contains(entry.cells, segmentCells, key)) {
+                    link(entry, key);
+                }
+            }
+        }
+    }
+
+    private void link(EdgeEntry entry, long key) {
+        if (entry.cellCount == entry.cells.length) {
+            entry.cells = Arrays.copyOf(entry.cells, entry.cellCount * 2);
+        }
+        entry.cells[entry.cellCount++] = key;
+        cell(key).edges.add(entry);
+    }
+
+    private void unlinkEdge(EdgeEntry entry) {
+        for (int c = 0; c < entry.cellCount; c++) {
+            long key = entry.cells[c];
+            Cell cell = cells.get(key);
+            if (cell != null) {
+                cell.edges.remove(entry);
+                dropIfEmpty(key, cell);
+            }
+        }
+        entry.cellCount = 0;
+    }
+
+    private static boolean contains(long[] keys, int count, long key) {
+        for (int c = 0; c < count; c++) {
+            if (keys[c] == key) return true;
+        }
+        return false;
+    }
+
+    private void dropIfEmpty(long key, Cell cell) {
+        if (cell.nodes.isEmpty() && cell.edges.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    private Cell cell(long key) {
+        return cells.computeIfAbsent(key, k -> new Cell());
+    }
+
+    private static double segmentDistanceSq(int px, int py, Node a, Node b) {
+        double dx = b.x - a.x, dy = b.y - a.y;
+        double length = dx * dx + dy * dy;
+        double t = length == 0 ? 0 : ((px - a.x) * dx + (py - a.y) * dy) / length;
+        t = Math.max(0, Math.min(1, t));
+        double ox = a.x + t * dx - px, oy = a.y + t * dy - py;
+        return ox * ox + oy * oy;
+    }
+
+    // Celula coordonatei pe nivelul dat (latura CELL · 2^level)
+    private static int cellOf(int coordinate, int level) {
+        return coordinate >> (CELL_SHIFT + level);
+    }
+
+    // 5 biți pentru nivel și câte 29 pentru fiecare indice de celulă (cu semn)
+    private static long key(int level, int cx, int cy) {
+        return ((long) level << 58) | ((cx & 0x1FFFFFFFL) << 29) | (cy & 0x1FFFFFFFL);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+class BidirectionalEdmondsKarpTest {
+    @Test
+    void matchesEdmondsKarp() {
+        TestNetwork.assertMatchesEdmondsKarp(FlowAlgorithm.BIDIRECTIONAL_BFS, false, false, 55);
+    }
+}
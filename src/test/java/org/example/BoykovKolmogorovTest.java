@@ -0,0 +1,55 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoykovKolmogorovTest {
+    @Test
+    void matchesEdmondsKarp() {
+        TestNetwork.assertMatchesEdmondsKarp(FlowAlgorithm.BOYKOV_KOLMOGOROV, false, false, 70);
+    }
+
+    @Test
+    void gridMatchesEdmondsKarp() {
+        Random random = new Random(7);
+        for (int i = 0; i < 60; i++) {
+            int width = 1 + random.nextInt(6), height = 1 + random.nextInt(6), depth = i % 3 == 0 ? 2 : 1;
+            GridGraph grid = new GridGraph(width, height, depth);
+            int pixels = grid.getPixelCount();
+            TestNetwork network = new TestNetwork(pixels + 2, pixels, pixels + 1);
+            int[][] steps = {{1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}};
+            for (int z = 0; z < depth; z++) {
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        int p = grid.pixel(x, y, z);
+                        int in = random.nextInt(10), out = random.nextInt(10);
+                        grid.setTerminal(p, in, out);
+                        network.add(pixels, p, in);
+                        network.add(p, pixels + 1, out);
+                        for (int d = 0; d < (depth == 1 ? 4 : 6); d++) {
+                            int nx = x + steps[d][0], ny = y + steps[d][1], nz = z + steps[d][2];
+                            if (nx < 0 || nx >= width || ny < 0 || ny >= height || nz < 0 || nz >= depth) continue;
+                            int capacity = random.nextInt(8);
+                            grid.setNeighbor(p, d, capacity);
+                            network.add(p, grid.pixel(nx, ny, nz), capacity);
+                        }
+                    }
+                }
+            }
+
+            long expected = network.edmondsKarp();
+            assertEquals(expected, grid.maxFlow(), "grila " + i);
+            // Tăietura grilei are aceeași capacitate ca fluxul
+            long cut = 0;
+            for (int e = 0; e < network.edges; e++) {
+                boolean fromSide = network.from[e] == pixels || network.from[e] < pixels && grid.isSourceSide(network.from[e]);
+                boolean toSide = network.to[e] == pixels || network.to[e] < pixels && grid.isSourceSide(network.to[e]);
+                if (fromSide && !toSide) cut += network.capacity[e];
+            }
+            assertEquals(expected, cut, "tăietura grilei " + i);
+        }
+    }
+}
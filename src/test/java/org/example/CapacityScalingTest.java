@@ -0,0 +1,38 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CapacityScalingTest {
+    @Test
+    void matchesEdmondsKarp() {
+        long seed = 47;
+        for (FlowAlgorithm algorithm : FlowAlgorithm.values()) {
+            if (algorithm.supportsScaling()) {
+                TestNetwork.assertMatchesEdmondsKarp(algorithm, true, false, seed++);
+            }
+        }
+    }
+
+    // Capacitățile mari cer sume pe long: fluxul total depășește 2^31
+    @Test
+    void totalsAboveIntRange() {
+        TestNetwork network = new TestNetwork(6, 0, 5);
+        for (int v = 1; v <= 4; v++) {
+            network.add(0, v, Integer.MAX_VALUE);
+            network.add(v, 5, Integer.MAX_VALUE);
+        }
+        network.add(1, 2, Integer.MAX_VALUE);
+        long expected = 4L * Integer.MAX_VALUE;
+        for (FlowAlgorithm algorithm : FlowAlgorithm.values()) {
+            for (boolean scaling : new boolean[]{false, true}) {
+                if (scaling && !algorithm.supportsScaling()) continue;
+                FordFulkerson ff = network.solver(algorithm);
+                ff.setCapacityScaling(scaling);
+                assertEquals(expected, ff.getMaxFlow(0, 5), algorithm + (scaling ? ", scalare" : ""));
+                network.assertValid(ff.getResult(), expected, algorithm.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+class DinicTest {
+    @Test
+    void matchesEdmondsKarp() {
+        TestNetwork.assertMatchesEdmondsKarp(FlowAlgorithm.DINIC, false, false, 43);
+    }
+}
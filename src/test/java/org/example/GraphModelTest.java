@@ -0,0 +1,130 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Operații aleatoare pe GraphModel comparate cu un model simplu: ștergerea
+ * nodurilor (ultimul nod preia id-ul), ștergerea din PairIndex și compactarea.
+ */
+class GraphModelTest {
+    @Test
+    void randomEditsKeepIndexConsistent() {
+        Random random = new Random(11);
+        GraphModel graph = new GraphModel();
+        // Capetele așteptate ale fiecărui arc (Edge compară după capete, deci după identitate)
+        Map<Edge, int[]> expected = new IdentityHashMap<>();
+        List<Edge> order = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int n = graph.nodeCount();
+            int op = random.nextInt(10);
+            if (n < 2 || op < 2) {
+                graph.addNode(random.nextInt(500), random.nextInt(500));
+            } else if (op < 8) {
+                int u = random.nextInt(n), v = random.nextInt(n);
+                if (u == v || graph.findEdge(u, v) != null) continue;
+                Edge edge = graph.addEdge(u, v, random.nextInt(10), 0, 0);
+                expected.put(edge, new int[]{u, v});
+                order.add(edge);
+            } else if (op < 9) {
+                int id = random.nextInt(n), last = n - 1;
+                int moved = graph.removeNode(graph.node(id));
+                assertEquals(id == last ? -1 : last, moved);
+                expected.values().removeIf(p -> p[0] == id || p[1] == id);
+                order.removeIf(e -> e.id < 0);
+                for (int[] p : expected.values()) {
+                    if (p[0] == last) p[0] = id;
+                    if (p[1] == last) p[1] = id;
+                }
+            } else {
+                graph.compact();
+                for (int i = 0; i < order.size(); i++) {
+                    assertEquals(i, order.get(i).id);
+                }
+            }
+            if (step % 50 == 0) {
+                check(graph, expected);
+            }
+        }
+        check(graph, expected);
+    }
+
+    // După compact(), arcul cu id-ul e este muchia e a solverului construit din edges()
+    @Test
+    void compactedIdsMatchSolver() {
+        Random random = new Random(12);
+        GraphModel graph = new GraphModel();
+        for (int v = 0; v < 40; v++) {
+            graph.addNode(v, v);
+        }
+        for (int step = 0; step < 400; step++) {
+            int u = random.nextInt(graph.nodeCount()), v = random.nextInt(graph.nodeCount());
+            Edge existing = graph.findEdge(u, v);
+            if (existing != null) {
+                graph.removeEdge(existing);
+            } else if (u != v) {
+                graph.addEdge(u, v, 1 + random.nextInt(9), 0, 0);
+            }
+            if (step % 100 == 99) {
+                graph.removeNode(graph.node(random.nextInt(graph.nodeCount())));
+            }
+        }
+        graph.compact();
+        FordFulkerson solver = new FordFulkerson(graph.nodeCount());
+        for (Edge edge : graph.edges()) {
+            solver.addEdge(edge.from, edge.to, edge.capacity, edge.flow, edge.cost);
+        }
+        assertEquals(graph.edgeCount(), solver.getEdgeCount());
+        for (Edge edge : graph.edges()) {
+            assertEquals(edge.from, solver.getEdgeFrom(edge.id));
+            assertEquals(edge.to, solver.getEdgeTo(edge.id));
+        }
+    }
+
+    private static void check(GraphModel graph, Map<Edge, int[]> expected) {
+        int n = graph.nodeCount();
+        assertEquals(expected.size(), graph.edgeCount());
+        Edge[][] byPair = new Edge[n][n];
+        for (Map.Entry<Edge, int[]> entry : expected.entrySet()) {
+            Edge edge = entry.getKey();
+            int[] p = entry.getValue();
+            assertArrayEquals(p, new int[]{edge.from, edge.to});
+            byPair[p[0]][p[1]] = edge;
+        }
+        for (int u = 0; u < n; u++) {
+            assertEquals(u, graph.node(u).id);
+            Set<Integer> out = new HashSet<>(), in = new HashSet<>();
+            for (int v = 0; v < n; v++) {
+                assertSame(byPair[u][v], graph.findEdge(u, v), u + " → " + v);
+                if (byPair[u][v] != null) out.add(byPair[u][v].id);
+                if (byPair[v][u] != null) in.add(byPair[v][u].id);
+            }
+            assertEquals(out, ids(graph.outEdges(u)));
+            assertEquals(in, ids(graph.inEdges(u)));
+        }
+        int count = 0;
+        for (Edge edge : graph.edges()) {
+            assertSame(edge, graph.findEdge(edge.from, edge.to));
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    private static Set<Integer> ids(List<Edge> edges) {
+        Set<Integer> ids = new HashSet<>();
+        for (Edge edge : edges) ids.add(edge.id);
+        return ids;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/** Modul -q: câte un flux maxim pentru fiecare pereche din fișier. */
+class HeadlessQueriesTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void pairsAreSolved() throws IOException {
+        Path input = write("q.max", "p max 4 4\nn 1 s\nn 4 t\na 1 2 3\na 2 4 2\na 1 3 4\na 3 4 5\n");
+        Path queries = write("perechi.txt", "1 4\nc comentariu\n2 4\n4 1\n");
+        Path output = directory.resolve("q.out");
+        assertEquals(0, Main.runHeadless(new String[]{input.toString(), "-q", queries.toString(), "-o", output.toString()}));
+        assertEquals(Arrays.asList("1 4 6", "2 4 2", "4 1 0"), Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+
+    // Statisticile și rețeaua salvată nu se produc pentru perechi, deci sunt respinse
+    @Test
+    void unsupportedOptionsAreRejected() throws IOException {
+        Path input = write("o.max", "p max 2 1\nn 1 s\nn 2 t\na 1 2 5\n");
+        Path queries = write("perechi.txt", "1 2\n");
+        for (String option : new String[]{"-s", "-b"}) {
+            Path extra = directory.resolve("extra" + option);
+            String[] args = {input.toString(), "-q", queries.toString(), option, extra.toString()};
+            assertEquals(2, Main.runHeadless(args), option);
+            assertFalse(Files.exists(extra), option);
+        }
+    }
+
+    private Path write(String name, String text) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, text.getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Recalcularea după modificări de capacitate și arce noi pornește de la fluxul
+ * existent; rezultatul trebuie să fie cel al unui solver construit de la zero.
+ */
+class IncrementalSolveTest {
+    @Test
+    void editsMatchFreshSolve() {
+        Random random = new Random(19);
+        for (int i = 0; i < 200; i++) {
+            TestNetwork network = TestNetwork.random(random, 2 + random.nextInt(14), random.nextInt(40), 20);
+            FlowAlgorithm algorithm = i % 2 == 0 ? FlowAlgorithm.EDMONDS_KARP : FlowAlgorithm.DINIC;
+            FordFulkerson ff = network.solver(algorithm);
+            ff.getMaxFlow(network.source, network.sink);
+
+            for (int edit = 0; edit < 5; edit++) {
+                if (network.edges > 0 && random.nextBoolean()) {
+                    int e = random.nextInt(network.edges);
+                    network.capacity[e] = random.nextInt(21);
+                    ff.setCapacity(e, network.capacity[e]);
+                } else {
+                    int u = random.nextInt(network.vertices), v = random.nextInt(network.vertices), c = random.nextInt(21);
+                    ff.addEdge(u, v, c, 0, (network.edges * 7) % 5);
+                    network.add(u, v, c);
+                }
+                String name = "rețeaua " + i + ", modificarea " + edit;
+                long expected = network.edmondsKarp();
+                assertEquals(expected, ff.getMaxFlow(network.source, network.sink), name);
+                network.assertValid(ff.getResult(), expected, name);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Modul -m (fișiere mapate) comparat cu calculul pe heap: aceeași soluție
+ * DIMACS, inclusiv tăietura, pe rețele cu arce de capacitate 0.
+ */
+class MappedResidualGraphTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void zeroCapacityArcsAreNotInCut() throws IOException {
+        Path input = directory.resolve("z.max");
+        Files.write(input, ("p max 4 4\nn 1 s\nn 4 t\n"
+                + "a 1 2 3\na 2 4 3\na 1 3 0\na 3 4 5\n").getBytes(StandardCharsets.US_ASCII));
+        List<String> mapped = compare(input);
+        assertEquals(1, mapped.stream().filter(line -> line.startsWith("c cut")).count());
+    }
+
+    @Test
+    void randomNetworksMatchOnHeap() throws IOException {
+        Random random = new Random(5);
+        for (int i = 0; i < 40; i++) {
+            int vertices = 2 + random.nextInt(30), edges = random.nextInt(120);
+            StringBuilder text = new StringBuilder("p max " + vertices + " " + edges + "\n");
+            int source = 1 + random.nextInt(vertices);
+            int sink = 1 + (source + random.nextInt(vertices - 1)) % vertices;
+            text.append("n ").append(source).append(" s\nn ").append(sink).append(" t\n");
+            for (int e = 0; e < edges; e++) {
+                // Aproximativ un sfert din arce au capacitatea 0
+                int capacity = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(20);
+                text.append("a ").append(1 + random.nextInt(vertices)).append(' ')
+                        .append(1 + random.nextInt(vertices)).append(' ').append(capacity).append('\n');
+            }
+            Path input = directory.resolve("r" + i + ".max");
+            Files.write(input, text.toString().getBytes(StandardCharsets.US_ASCII));
+            compare(input);
+        }
+    }
+
+    @Test
+    void unsupportedOptionsAreRejected() throws IOException {
+        Path input = directory.resolve("o.max");
+        Files.write(input, "p max 2 1\nn 1 s\nn 2 t\na 1 2 5\n".getBytes(StandardCharsets.US_ASCII));
+        String m = directory.toString();
+        for (String[] extra : new String[][]{{"-a", "PUSH_RELABEL"}, {"-t", "2"}, {"-c"}, {"-r"},
+                {"-q", "perechi.txt"}, {"-b", "retea.ffs"}}) {
+            String[] args = new String[3 + extra.length];
+            args[0] = input.toString();
+            args[1] = "-m";
+            args[2] = m;
+            System.arraycopy(extra, 0, args, 3, extra.length);
+            assertEquals(2, Main.runHeadless(args), extra[0]);
+        }
+        Path output = directory.resolve("o.sol");
+        assertEquals(0, Main.runHeadless(new String[]{input.toString(), "-m", m, "-a", "dinic", "-o", output.toString()}));
+    }
+
+    // Cu ferestre mici construcția trece prin fișierele temporare ale ferestrelor
+    @Test
+    void windowedBuildMatchesDirectBuild() throws IOException {
+        Random random = new Random(9);
+        for (int i = 0; i < 20; i++) {
+            TestNetwork network = TestNetwork.random(random, 2 + random.nextInt(40), 1 + random.nextInt(300), 15);
+            try (MappedResidualGraph direct = build(network, 24); MappedResidualGraph windowed = build(network, 1 + i % 5)) {
+                for (int a = 0; a < 2 * network.edges; a++) {
+                    assertEquals(direct.head(a), windowed.head(a));
+                    assertEquals(direct.capacity(a), windowed.capacity(a));
+                    assertEquals(direct.reverse(a), windowed.reverse(a));
+                }
+                FordFulkerson ff = network.solver(FlowAlgorithm.DINIC);
+                long expected = ff.getMaxFlow(network.source, network.sink);
+                FlowMonitor monitor = new FlowMonitor();
+                monitor.begin(null, 0, null);
+                try {
+                    assertEquals(expected, new Dinic(network.vertices).maxFlow(windowed, network.source, network.sink, monitor));
+                } finally {
+                    monitor.end();
+                }
+                for (int e = 0; e < network.edges; e++) {
+                    assertEquals(ff.getEdgeFlow(e), windowed.getEdgeFlow(e));
+                }
+            }
+        }
+    }
+
+    private MappedResidualGraph build(TestNetwork network, int windowShift) throws IOException {
+        try (MappedResidualGraph.Builder builder = MappedResidualGraph.builder(directory, network.vertices, network.edges)) {
+            for (int e = 0; e < network.edges; e++) {
+                builder.addEdge(network.from[e], network.to[e], network.capacity[e]);
+            }
+            return builder.build(windowShift);
+        }
+    }
+
+    // Rulează ambele moduri și compară ieșirile, fără linia de titlu; întoarce ieșirea -m
+    private List<String> compare(Path input) throws IOException {
+        Path heap = directory.resolve("heap.sol"), mapped = directory.resolve("mapped.sol");
+        assertEquals(0, Main.runHeadless(new String[]{input.toString(), "-o", heap.toString()}));
+        assertEquals(0, Main.runHeadless(new String[]{input.toString(), "-m", directory.toString(),
+                "-o", mapped.toString()}));
+        List<String> expected = Files.readAllLines(heap, StandardCharsets.UTF_8);
+        List<String> actual = Files.readAllLines(mapped, StandardCharsets.UTF_8);
+        assertEquals(expected.subList(1, expected.size()), actual.subList(1, actual.size()), input.toString());
+        return actual;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class MinCostFlowTest {
+    @Test
+    void matchesEdmondsKarp() {
+        TestNetwork.assertMatchesEdmondsKarp(FlowAlgorithm.MIN_COST, false, false, 45);
+    }
+
+    // Un flux maxim are cost minim exact când graful rezidual nu are cicluri de cost negativ
+    @Test
+    void noNegativeResidualCycle() {
+        Random random = new Random(46);
+        for (int i = 0; i < 300; i++) {
+            TestNetwork network = TestNetwork.random(random, 2 + random.nextInt(14), random.nextInt(40), 20);
+            FordFulkerson ff = network.solver(FlowAlgorithm.MIN_COST);
+            ff.getMaxFlow(network.source, network.sink);
+            FlowResult result = ff.getResult();
+
+            long cost = 0;
+            long[] distance = new long[network.vertices];
+            boolean relaxed = true;
+            for (int round = 0; round <= network.vertices && relaxed; round++) {
+                relaxed = false;
+                for (int e = 0; e < network.edges; e++) {
+                    int u = network.from[e], v = network.to[e], c = ff.getEdgeCost(e), flow = result.getFlow(e);
+                    if (round == 0) cost += (long) c * flow;
+                    if (flow < network.capacity[e] && distance[u] + c < distance[v]) {
+                        distance[v] = distance[u] + c;
+                        relaxed = true;
+                    }
+                    if (flow > 0 && distance[v] - c < distance[u]) {
+                        distance[u] = distance[v] - c;
+                        relaxed = true;
+                    }
+                }
+            }
+            assertFalse(relaxed, "rețeaua " + i + ": ciclu rezidual de cost negativ");
+            assertEquals(cost, ff.getTotalCost(), "rețeaua " + i);
+        }
+    }
+}
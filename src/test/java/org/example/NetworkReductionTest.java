@@ -0,0 +1,49 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NetworkReductionTest {
+    // Fluxul rețelei reduse, distribuit înapoi, trebuie să fie un flux maxim valid al rețelei originale
+    @Test
+    void matchesEdmondsKarp() {
+        long seed = 60;
+        for (FlowAlgorithm algorithm : FlowAlgorithm.values()) {
+            TestNetwork.assertMatchesEdmondsKarp(algorithm, false, true, seed++);
+            if (algorithm.supportsScaling()) {
+                TestNetwork.assertMatchesEdmondsKarp(algorithm, true, true, seed++);
+            }
+        }
+    }
+
+    // Cu reducerea, instantaneele de progres arată fluxul pe muchiile originale, nu zero
+    @Test
+    void reducedSnapshotsShowOriginalFlows() {
+        Random random = new Random(21);
+        for (int i = 0; i < 100; i++) {
+            TestNetwork network = TestNetwork.random(random, 2 + random.nextInt(14), random.nextInt(40), 20);
+            for (FlowAlgorithm algorithm : FlowAlgorithm.values()) {
+                // Numărul de instantanee și suma fluxurilor din ele
+                long[] seen = new long[2];
+                String name = "rețeaua " + i + ", " + algorithm;
+                FordFulkerson ff = network.solver(algorithm);
+                ff.setNetworkReduction(true);
+                ff.setMonitor(new FlowMonitor((steps, flow, elapsed, snapshot) -> {
+                    for (int e = 0; e < network.edges; e++) {
+                        int f = snapshot.getFlow(e);
+                        assertTrue(f >= 0 && f <= network.capacity[e], name);
+                        seen[1] += f;
+                    }
+                    seen[0]++;
+                }, 0));
+                // Rețelele reduse la un singur arc se pot rezolva fără niciun pas raportat
+                if (ff.getMaxFlow(network.source, network.sink) > 0 && seen[0] > 0) {
+                    assertTrue(seen[1] > 0, name + ": flux în instantanee");
+                }
+            }
+        }
+    }
+}
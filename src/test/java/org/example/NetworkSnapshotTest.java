@@ -0,0 +1,152 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NetworkSnapshotTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripWithSolution() throws IOException {
+        Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            TestNetwork network = TestNetwork.random(random, 2 + random.nextInt(20), random.nextInt(60), 30);
+            FordFulkerson ff = network.solver(FlowAlgorithm.DINIC);
+            long maxFlow = ff.getMaxFlow(network.source, network.sink);
+            int[] x = new int[network.vertices], y = new int[network.vertices];
+            for (int v = 0; v < network.vertices; v++) {
+                x[v] = random.nextInt(1000);
+                y[v] = random.nextInt(1000);
+            }
+
+            Path path = directory.resolve("retea" + i + ".ffs");
+            ff.snapshot(x, y).write(path);
+            assertTrue(NetworkSnapshot.isSnapshot(path));
+            NetworkSnapshot read = NetworkSnapshot.read(path);
+
+            assertEquals(network.vertices, read.vertices);
+            assertEquals(network.edges, read.edgeCount);
+            assertArrayEquals(x, read.x);
+            assertArrayEquals(y, read.y);
+            assertTrue(read.hasSolution());
+            assertEquals(network.source, read.source);
+            assertEquals(network.sink, read.sink);
+            assertEquals(maxFlow, read.maxFlow);
+            FlowResult expected = ff.getResult();
+            for (int e = 0; e < network.edges; e++) {
+                assertEquals(network.from[e], read.from[e]);
+                assertEquals(network.to[e], read.to[e]);
+                assertEquals(network.capacity[e], read.capacity[e]);
+                assertEquals(ff.getEdgeCost(e), read.cost[e]);
+                assertEquals(expected.getFlow(e), read.flow[e]);
+            }
+            assertEquals(expected.getSourceSide(), read.sourceSide);
+
+            // Solverul refăcut are deja soluția: același rezultat, fără recalculare
+            FordFulkerson restored = read.toSolver(FlowAlgorithm.DINIC);
+            assertEquals(expected.getCutCapacity(), restored.getResult().getCutCapacity());
+            assertEquals(maxFlow, restored.getMaxFlow(network.source, network.sink));
+        }
+    }
+
+    // Ca la o cerere găsită în cache: solverul preia rezultatul altei perechi, iar salvarea îl scrie pe acesta
+    @Test
+    void restoredResultIsSaved() throws IOException {
+        Random random = new Random(8);
+        for (int i = 0; i < 30; i++) {
+            TestNetwork network = TestNetwork.random(random, 3 + random.nextInt(15), random.nextInt(60), 30);
+            int other = (network.sink + 1) % network.vertices == network.source
+                    ? (network.sink + 2) % network.vertices : (network.sink + 1) % network.vertices;
+            FordFulkerson ff = network.solver(FlowAlgorithm.DINIC);
+            ff.getMaxFlow(network.source, network.sink);
+            FlowResult shown = ff.getResult();
+            ff.getMaxFlow(network.source, other);
+
+            int[] flows = new int[network.edges];
+            for (int e = 0; e < network.edges; e++) {
+                flows[e] = shown.getFlow(e);
+            }
+            ff.restoreSolution(network.source, network.sink, shown.getMaxFlow(), flows, shown.getSourceSide());
+            Path path = directory.resolve("restaurat" + i + ".ffs");
+            ff.snapshot(null, null).write(path);
+
+            NetworkSnapshot read = NetworkSnapshot.read(path);
+            assertEquals(network.source, read.source);
+            assertEquals(network.sink, read.sink);
+            assertEquals(shown.getMaxFlow(), read.maxFlow);
+            assertArrayEquals(flows, read.flow);
+            assertEquals(shown.getSourceSide(), read.sourceSide);
+            // Recalcularea aceleiași perechi doar confirmă fluxul preluat
+            assertEquals(shown.getMaxFlow(), ff.getMaxFlow(network.source, network.sink));
+        }
+    }
+
+    @Test
+    void roundTripWithoutSolution() throws IOException {
+        FordFulkerson ff = new FordFulkerson(3);
+        ff.addEdge(0, 1, 4, 2, 1);
+        ff.addEdge(1, 2, 3, 2, 5);
+        Path path = directory.resolve("fara-solutie.ffs");
+        ff.snapshot(null, null).write(path);
+
+        NetworkSnapshot read = NetworkSnapshot.read(path);
+        assertFalse(read.hasCoordinates());
+        assertFalse(read.hasSolution());
+        assertFalse(read.hasTerminals());
+        assertNull(read.sourceSide);
+        assertArrayEquals(new int[]{2, 2}, read.initialFlow);
+        // Fluxul întors este cel adăugat peste fluxurile inițiale
+        assertEquals(1, read.toSolver(FlowAlgorithm.EDMONDS_KARP).getMaxFlow(0, 2));
+    }
+
+    // Încărcarea în editor: nodurile fără coordonate stau într-o grilă, arcele repetate sunt omise
+    @Test
+    void loadIntoEditorModel() throws IOException {
+        FordFulkerson ff = new FordFulkerson(5);
+        ff.addEdge(0, 1, 4, 0, 0);
+        ff.addEdge(1, 4, 3, 0, 2);
+        ff.addEdge(0, 1, 2, 0, 0);
+        Path path = directory.resolve("editor.ffs");
+        ff.snapshot(null, null).write(path);
+
+        NetworkPanel.Loaded loaded = new NetworkPanel.Loaded(NetworkSnapshot.read(path));
+        assertFalse(loaded.complete);
+        assertEquals(5, loaded.graph.nodeCount());
+        assertEquals(2, loaded.graph.edgeCount());
+        assertEquals(2, loaded.graph.findEdge(1, 4).cost);
+        Node last = loaded.graph.node(4);
+        // Grila are 3 coloane: nodul 4 este pe al doilea rând, a doua coloană
+        assertEquals(160, last.x);
+        assertEquals(160, last.y);
+        assertSame(last, loaded.index.nodeAt(last.x, last.y));
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        FordFulkerson ff = new FordFulkerson(4);
+        ff.addEdge(0, 1, 4, 0, 0);
+        ff.addEdge(1, 3, 4, 0, 0);
+        ff.getMaxFlow(0, 3);
+        Path path = directory.resolve("trunchiat.ffs");
+        ff.snapshot(null, null).write(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 8);
+        }
+        assertThrows(IOException.class, () -> NetworkSnapshot.read(path));
+    }
+}
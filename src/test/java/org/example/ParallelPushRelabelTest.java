@@ -0,0 +1,40 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelPushRelabelTest {
+    @Test
+    void matchesEdmondsKarp() {
+        TestNetwork.assertMatchesEdmondsKarp(FlowAlgorithm.PARALLEL_PUSH_RELABEL, false, false, 44);
+    }
+
+    // Pragul 0 forțează rundele paralele și pe rețelele mici, cu și fără statistici
+    @Test
+    void parallelPushRelabelRounds() {
+        Random random = new Random(13);
+        for (int i = 0; i < 100; i++) {
+            TestNetwork network = TestNetwork.random(random, 2 + random.nextInt(30), random.nextInt(120), 20);
+            long expected = network.edmondsKarp();
+            int[] zero = new int[network.edges];
+            ResidualGraph g = new ResidualGraph(network.vertices, network.edges, network.from, network.to,
+                    network.capacity, zero, zero, zero);
+            SolverStats stats = i % 2 == 0 ? new SolverStats(FlowAlgorithm.PARALLEL_PUSH_RELABEL, network.vertices, 2 * network.edges) : null;
+            FlowMonitor monitor = new FlowMonitor();
+            monitor.begin(g, 0, stats);
+            try {
+                assertEquals(expected, new ParallelPushRelabel(network.vertices, 4, 0)
+                        .maxFlow(g, network.source, network.sink, monitor), "rețeaua " + i);
+            } finally {
+                monitor.end();
+            }
+            if (stats != null && expected > 0) {
+                assertTrue(stats.pushes > 0, "împingeri numărate");
+            }
+        }
+    }
+}
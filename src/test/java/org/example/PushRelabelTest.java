@@ -0,0 +1,42 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PushRelabelTest {
+    @Test
+    void matchesEdmondsKarp() {
+        TestNetwork.assertMatchesEdmondsKarp(FlowAlgorithm.PUSH_RELABEL, false, false, 42);
+    }
+
+    // Lanțuri lungi cu capacități mici spre destinație: excesul rămas blocat
+    // pe lanțuri este tăiat de euristica golului, la înălțimi diferite
+    @Test
+    void chainsCutByGapsMatchEdmondsKarp() {
+        Random random = new Random(46);
+        for (int i = 0; i < 100; i++) {
+            int chains = 1 + random.nextInt(6), length = 2 + random.nextInt(20);
+            TestNetwork network = new TestNetwork(chains * length + 2, 0, 1);
+            for (int c = 0; c < chains; c++) {
+                int first = 2 + c * length;
+                network.add(0, first, 1 + random.nextInt(30));
+                for (int k = 1; k < length; k++) {
+                    network.add(first + k - 1, first + k, 1 + random.nextInt(30));
+                    if (random.nextInt(8) == 0) {
+                        network.add(first + k, 2 + random.nextInt(chains * length), random.nextInt(10));
+                    }
+                }
+                network.add(first + length - 1, 1, random.nextInt(5));
+            }
+
+            long expected = network.edmondsKarp();
+            FordFulkerson ff = network.solver(FlowAlgorithm.PUSH_RELABEL);
+            String name = "lanțurile " + i;
+            assertEquals(expected, ff.getMaxFlow(network.source, network.sink), name);
+            network.assertValid(ff.getResult(), expected, name);
+        }
+    }
+}
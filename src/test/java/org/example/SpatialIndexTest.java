@@ -0,0 +1,139 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Interogările indexului comparate cu o parcurgere a tuturor arcelor, pe o
+ * planșă mare cu arce scurte și lungi (pe niveluri diferite), după mutări și
+ * ștergeri de noduri.
+ */
+class SpatialIndexTest {
+    private static final int WIDTH = 20_000, HEIGHT = 12_000;
+
+    @Test
+    void queriesMatchFullScan() {
+        Random random = new Random(17);
+        GraphModel graph = new GraphModel();
+        SpatialIndex index = new SpatialIndex();
+        // Arcele în ordinea adăugării, ca ordinea etichetelor din index
+        List<Edge> order = new ArrayList<>();
+        for (int v = 0; v < 600; v++) {
+            index.addNode(graph.addNode(random.nextInt(WIDTH), random.nextInt(HEIGHT)));
+        }
+        while (graph.edgeCount() < 5000) {
+            int u = random.nextInt(600);
+            // Jumătate din arce sunt între noduri apropiate, restul oriunde pe planșă
+            int v = random.nextBoolean() ? random.nextInt(600) : nearest(graph, u, random);
+            if (u == v || graph.findEdge(u, v) != null) continue;
+            Edge edge = graph.addEdge(u, v, 1, 0, 0);
+            index.addEdge(edge, graph.node(u), graph.node(v));
+            order.add(edge);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            check(graph, index, order, random);
+            for (int k = 0; k < 50; k++) {
+                Node node = graph.node(random.nextInt(graph.nodeCount()));
+                index.moveNode(node, random.nextInt(WIDTH), random.nextInt(HEIGHT));
+            }
+            for (int k = 0; k < 20; k++) {
+                Node node = graph.node(random.nextInt(graph.nodeCount()));
+                index.removeNode(node);
+                graph.removeNode(node);
+                order.removeIf(edge -> edge.id < 0);
+            }
+        }
+        check(graph, index, order, random);
+
+        // Reconstruirea dă același index
+        SpatialIndex rebuilt = new SpatialIndex();
+        rebuilt.rebuild(graph);
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(WIDTH), y = random.nextInt(HEIGHT);
+            assertSame(index.edgeAt(x, y, 8), rebuilt.edgeAt(x, y, 8));
+            assertSame(index.nodeAt(x, y), rebuilt.nodeAt(x, y));
+        }
+    }
+
+    private static int nearest(GraphModel graph, int u, Random random) {
+        Node a = graph.node(u);
+        int best = -1;
+        long bestDist = Long.MAX_VALUE;
+        for (int k = 0; k < 40; k++) {
+            int v = random.nextInt(graph.nodeCount());
+            Node b = graph.node(v);
+            long d = (long) (a.x - b.x) * (a.x - b.x) + (long) (a.y - b.y) * (a.y - b.y);
+            if (v != u && d < bestDist) {
+                bestDist = d;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    private static void check(GraphModel graph, SpatialIndex index, List<Edge> order, Random random) {
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(WIDTH), y = random.nextInt(HEIGHT);
+
+            double bestDist = 8.0 * 8.0;
+            Edge label = null;
+            for (Edge edge : order) {
+                Node a = graph.node(edge.from), b = graph.node(edge.to);
+                bestDist = Math.min(bestDist, distanceSq(graph, edge, x, y));
+                int midX = (a.x + b.x) / 2, midY = (a.y + b.y) / 2;
+                if (x >= midX + SpatialIndex.LABEL_LEFT && x <= midX + SpatialIndex.LABEL_RIGHT
+                        && y >= midY + SpatialIndex.LABEL_TOP && y <= midY + SpatialIndex.LABEL_BOTTOM) {
+                    label = edge;
+                }
+            }
+            Edge found = index.edgeAt(x, y, 8);
+            if (bestDist < 8.0 * 8.0) {
+                assertEquals(bestDist, distanceSq(graph, found, x, y), 1e-6);
+            }
+            assertSame(label, index.labelAt(x, y));
+        }
+
+        // Fiecare arc care trece prin zonă este găsit, o singură dată și în ordinea adăugării
+        for (int i = 0; i < 50; i++) {
+            int x0 = random.nextInt(WIDTH), y0 = random.nextInt(HEIGHT);
+            int x1 = x0 + random.nextInt(1500), y1 = y0 + random.nextInt(1000);
+            List<Edge> visible = index.edgesIn(x0, y0, x1, y1);
+            Set<Edge> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            seen.addAll(visible);
+            assertEquals(visible.size(), seen.size());
+            for (Edge edge : order) {
+                Node a = graph.node(edge.from), b = graph.node(edge.to);
+                if (new Rectangle(x0, y0, x1 - x0, y1 - y0).intersectsLine(a.x, a.y, b.x, b.y)) {
+                    assertTrue(seen.contains(edge), "arcul " + edge.from + " → " + edge.to);
+                }
+            }
+            Set<Edge> live = new HashSet<>(order);
+            for (Edge edge : visible) {
+                assertTrue(live.contains(edge));
+            }
+        }
+        for (Edge edge : index.edgesIn(-WIDTH, -HEIGHT, 2 * WIDTH, 2 * HEIGHT)) {
+            assertFalse(edge.id < 0, "arc șters rămas în index");
+        }
+    }
+
+    private static double distanceSq(GraphModel graph, Edge edge, int x, int y) {
+        Node a = graph.node(edge.from), b = graph.node(edge.to);
+        return Line2D.ptSegDistSq(a.x, a.y, b.x, b.y, x, y);
+    }
+}
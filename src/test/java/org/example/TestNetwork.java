@@ -0,0 +1,93 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rețea de test ca liste de muchii, cu verificarea unui rezultat față de
+ * Edmonds-Karp: aceeași valoare, un flux valid și o tăietură minimă de aceeași
+ * capacitate.
+ */
+final class TestNetwork {
+    final int vertices, source, sink;
+    int edges;
+    int[] from = new int[16], to = new int[16], capacity = new int[16];
+
+    TestNetwork(int vertices, int source, int sink) {
+        this.vertices = vertices;
+        this.source = source;
+        this.sink = sink;
+    }
+
+    // Arce paralele, antiparalele, bucle și capacități 0 sunt incluse intenționat
+    static TestNetwork random(Random random, int vertices, int edges, int maxCapacity) {
+        int source = random.nextInt(vertices);
+        int sink = (source + 1 + random.nextInt(vertices - 1)) % vertices;
+        TestNetwork network = new TestNetwork(vertices, source, sink);
+        for (int e = 0; e < edges; e++) {
+            network.add(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(maxCapacity + 1));
+        }
+        return network;
+    }
+
+    void add(int u, int v, int c) {
+        if (edges == from.length) {
+            from = Arrays.copyOf(from, edges * 2);
+            to = Arrays.copyOf(to, edges * 2);
+            capacity = Arrays.copyOf(capacity, edges * 2);
+        }
+        from[edges] = u;
+        to[edges] = v;
+        capacity[edges++] = c;
+    }
+
+    FordFulkerson solver(FlowAlgorithm algorithm) {
+        FordFulkerson ff = new FordFulkerson(vertices, algorithm);
+        for (int e = 0; e < edges; e++) {
+            ff.addEdge(from[e], to[e], capacity[e], 0, (e * 7) % 5);
+        }
+        return ff;
+    }
+
+    long edmondsKarp() {
+        return solver(FlowAlgorithm.EDMONDS_KARP).getMaxFlow(source, sink);
+    }
+
+    // Algoritmul comparat cu Edmonds-Karp pe rețele aleatoare mici
+    static void assertMatchesEdmondsKarp(FlowAlgorithm algorithm, boolean scaling, boolean reduction, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < 300; i++) {
+            TestNetwork network = random(random, 2 + random.nextInt(14), random.nextInt(40), 20);
+            long expected = network.edmondsKarp();
+
+            FordFulkerson ff = network.solver(algorithm);
+            ff.setThreads(3);
+            ff.setCapacityScaling(scaling);
+            ff.setNetworkReduction(reduction);
+            String name = "rețeaua " + i + ", " + algorithm + (scaling ? ", scalare" : "")
+                    + (reduction ? ", reducere" : "");
+            assertEquals(expected, ff.getMaxFlow(network.source, network.sink), name);
+            network.assertValid(ff.getResult(), expected, name);
+        }
+    }
+
+    void assertValid(FlowResult result, long expected, String name) {
+        long[] balance = new long[vertices];
+        for (int e = 0; e < edges; e++) {
+            int flow = result.getFlow(e);
+            assertTrue(flow >= 0 && flow <= capacity[e], name + ": fluxul arcului " + e);
+            balance[from[e]] -= flow;
+            balance[to[e]] += flow;
+        }
+        for (int v = 0; v < vertices; v++) {
+            if (v == source || v == sink) continue;
+            assertEquals(0, balance[v], name + ": conservarea în nodul " + v);
+        }
+        assertEquals(expected, balance[sink], name + ": fluxul în destinație");
+        assertTrue(result.isSourceSide(source) && !result.isSourceSide(sink), name + ": tăietura");
+        assertEquals(expected, result.getCutCapacity(), name + ": capacitatea tăieturii");
+    }
+}